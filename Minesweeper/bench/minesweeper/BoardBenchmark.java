@@ -0,0 +1,72 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/** Board construction per Difficulty and at large custom sizes, and its two phases separately. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @State(Scope.Thread)
+    public static class DifficultyState {
+        @Param({"EASY", "NORMAL", "HARD"})
+        Difficulty difficulty;
+        long seed;
+    }
+
+    @Benchmark
+    public Board fromDifficulty(DifficultyState s) {
+        return Board.fromDifficulty(s.difficulty, s.seed++);
+    }
+
+    @State(Scope.Thread)
+    public static class LargeState {
+        @Param({"1000", "5000"})
+        int size;
+        @Param({"0.15"})
+        double density;
+
+        int mines;
+        long seed;
+        byte[] mined;
+        byte[] scratch;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            mines = (int) (size * (long) size * density);
+            mined = new byte[size * size];
+            Board.placeMines(mined, mines, new SplittableRandom(42));
+            scratch = new byte[mined.length];
+        }
+
+        @Setup(Level.Invocation)
+        public void resetScratch() {
+            System.arraycopy(mined, 0, scratch, 0, mined.length);
+        }
+    }
+
+    @Benchmark
+    public Board construct(LargeState s) {
+        return new Board(s.size, s.size, s.mines, s.seed++);
+    }
+
+    /** Includes allocating the cell array, as the constructor does */
+    @Benchmark
+    public byte[] placeMines(LargeState s) {
+        byte[] cells = new byte[s.size * s.size];
+        Board.placeMines(cells, s.mines, new SplittableRandom(s.seed++));
+        return cells;
+    }
+
+    @Benchmark
+    public byte[] computeAdjacency(LargeState s) {
+        Board.computeAdjacency(s.scratch, s.size, s.size);
+        return s.scratch;
+    }
+}
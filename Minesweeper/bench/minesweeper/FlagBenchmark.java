@@ -0,0 +1,26 @@
+package minesweeper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlagBenchmark {
+    Board board;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = Board.fromDifficulty(Difficulty.HARD, 7);
+    }
+
+    /** Flags and unflags on alternate calls; the cell is never revealed */
+    @Benchmark
+    public DeltaBatch toggleFlag() {
+        return board.toggleFlag(0, 0);
+    }
+}
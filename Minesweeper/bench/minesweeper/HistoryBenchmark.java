@@ -0,0 +1,83 @@
+package minesweeper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/** Chains of executed, undone and redone flag moves on a fresh HARD game. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryBenchmark {
+
+    @State(Scope.Thread)
+    public static class Chain {
+        @Param({"100", "1000"})
+        int chain;
+
+        Game game;
+        Board board;
+        History history;
+
+        void newGame() {
+            game = new Game(Difficulty.HARD, "bench");
+            board = game.getBoard();
+            history = game.getHistory();
+        }
+
+        void executeChain() {
+            int cols = board.cols(), cells = board.rows() * cols;
+            for (int i = 0; i < chain; i++) {
+                int idx = i % cells;
+                history.execute(board, game, new FlagCommand(idx / cols, idx % cols));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Fresh extends Chain {
+        @Setup(Level.Invocation)
+        public void setUp() {
+            newGame();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Executed extends Chain {
+        @Setup(Level.Invocation)
+        public void setUp() {
+            newGame();
+            executeChain();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Undone extends Chain {
+        @Setup(Level.Invocation)
+        public void setUp() {
+            newGame();
+            executeChain();
+            while (history.canUndo()) history.undo(board, game);
+        }
+    }
+
+    @Benchmark
+    public History execute(Fresh s) {
+        s.executeChain();
+        return s.history;
+    }
+
+    @Benchmark
+    public History undo(Executed s) {
+        for (int i = 0; i < s.chain; i++) s.history.undo(s.board, s.game);
+        return s.history;
+    }
+
+    @Benchmark
+    public History redo(Undone s) {
+        for (int i = 0; i < s.chain; i++) s.history.redo(s.board, s.game);
+        return s.history;
+    }
+}
@@ -0,0 +1,52 @@
+package minesweeper;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Worst-case flood fills: an almost empty board where one click opens nearly every cell.
+ * The previous reveal is reverted before each invocation, so every call floods afresh.
+ * Running with and without a scoring policy shows what per-cell scoring costs, and the
+ * parallel mode hands fills past the default threshold to the common pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RevealBenchmark {
+    @Param({"100", "1000", "3000"})
+    int size;
+
+    @Param({"none", "classic"})
+    String scoring;
+
+    @Param({"serial", "parallel"})
+    String mode;
+
+    Board board;
+    DeltaBatch last;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // A single mine in a corner; the first click (which may relocate it) happens here
+        board = new Board(size, size, 1, 7);
+        if (scoring.equals("classic")) board.setScoring(new ClassicScoring());
+        if (mode.equals("parallel")) board.setParallelReveal(ForkJoinPool.commonPool(), Board.DEFAULT_PARALLEL_THRESHOLD);
+        last = board.reveal(size / 2, size / 2);
+    }
+
+    @Setup(Level.Invocation)
+    public void undoLastReveal() {
+        board.revertDelta(last);
+    }
+
+    @Benchmark
+    public DeltaBatch floodFill() {
+        last = board.reveal(size / 2, size / 2);
+        return last;
+    }
+}
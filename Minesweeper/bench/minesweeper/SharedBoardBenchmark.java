@@ -0,0 +1,78 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Cooperative play on one big SharedBoard: every benchmark thread works in its own band of
+ * rows, so throughput should grow with -t up to the core count. The board is rebuilt each
+ * iteration. Reveals walk the band in a scrambled order to the next hidden safe cell, so
+ * every call opens something; an iteration that runs out of hidden cells fails instead of
+ * measuring no-op calls.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SharedBoardBenchmark {
+    static final int SIZE = 4096;
+    // Prime larger than any band, so stepping by it visits every cell of a band once
+    static final int STRIDE = 1_000_003;
+
+    SharedBoard board;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        board = new SharedBoard(SIZE, SIZE, SIZE * SIZE / 5, 7);
+    }
+
+    @State(Scope.Thread)
+    public static class Player {
+        SplittableRandom rnd;
+        int firstRow, bandRows, bandCells;
+        // Position in the band walk and cells of the band not visited yet
+        int cursor, left;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams params) {
+            rnd = new SplittableRandom(params.getThreadIndex());
+            bandRows = Math.max(1, SIZE / params.getThreadCount());
+            firstRow = Math.min(SIZE - bandRows, params.getThreadIndex() * bandRows);
+            bandCells = bandRows * SIZE;
+        }
+
+        @Setup(Level.Iteration)
+        public void newBoard() {
+            cursor = rnd.nextInt(bandCells);
+            left = bandCells;
+        }
+
+        @TearDown(Level.Iteration)
+        public void check() {
+            if (left == 0) throw new IllegalStateException("Band fully opened; make SIZE larger or iterations shorter");
+        }
+    }
+
+    /** Reveals the next hidden safe cell of the player's band, so the game never ends */
+    @Benchmark
+    public DeltaBatch reveal(Player p) {
+        while (p.left > 0) {
+            p.left--;
+            p.cursor = (int) ((p.cursor + (long) STRIDE) % p.bandCells);
+            int i = p.firstRow * SIZE + p.cursor;
+            if ((board.stateAt(i) & (Cell.MINE | Cell.REVEALED | Cell.FLAGGED)) != 0) continue;
+            return board.reveal(i / SIZE, i % SIZE);
+        }
+        return DeltaBatch.EMPTY;
+    }
+
+    @Benchmark
+    public DeltaBatch toggleFlag(Player p) {
+        return board.toggleFlag(p.firstRow + p.rnd.nextInt(p.bandRows), p.rnd.nextInt(SIZE));
+    }
+}
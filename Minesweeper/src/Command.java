@@ -1,6 +0,0 @@
-import java.util.List;
-
-public interface Command {
-    List<CellDelta> apply(Board board, Game game);
-    void undo(Board board, Game game, List<CellDelta> deltas);
-}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package minesweeper;
+
+/** Every cell in one flat array; the default for boards that fit comfortably in memory. */
+class ArrayCellStore extends CellStore {
+    final byte[] cells;
+
+    ArrayCellStore(byte[] cells) {
+        this.cells = cells;
+    }
+
+    @Override
+    byte get(int i) { return cells[i]; }
+
+    @Override
+    void set(int i, byte value) { cells[i] = value; }
+
+    @Override
+    CellStore copy() { return new ArrayCellStore(cells.clone()); }
+
+    @Override
+    long retainedBytes() { return 16 + cells.length; }
+}
@@ -0,0 +1,98 @@
+package minesweeper;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Delivers a board's events to another listener on a worker thread, through a bounded
+ * queue. When the queue is full the board blocks until the listener catches up, so no
+ * event is ever dropped. The listener runs concurrently with later moves: it should work
+ * from the batches it is given rather than read the board itself. An event the listener
+ * throws on is reported and delivery goes on with the next one, so the worker never stops
+ * draining while the board may still be waiting for room.
+ */
+public class AsyncBoardListener implements BoardListener, AutoCloseable {
+    private static final Event RESTORED = new Event(null, false);
+    private static final Event CLOSED = new Event(null, false);
+
+    private final Board board;
+    private final BoardListener delegate;
+    private final Consumer<RuntimeException> onError;
+    private final BlockingQueue<Event> queue;
+    private final Thread worker;
+
+    AsyncBoardListener(Board board, BoardListener delegate, int capacity, Consumer<RuntimeException> onError) {
+        if (capacity <= 0) throw new IllegalArgumentException("Invalid queue capacity");
+        this.board = board;
+        this.delegate = delegate;
+        this.onError = onError;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::work, "board-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void boardChanged(DeltaBatch batch, boolean reverted) {
+        put(new Event(batch, reverted));
+    }
+
+    @Override
+    public void boardRestored() {
+        put(RESTORED);
+    }
+
+    /** Events queued but not yet delivered */
+    public int pending() { return queue.size(); }
+
+    /** Unsubscribes from the board, delivers what is already queued, then stops the worker */
+    @Override
+    public void close() {
+        board.removeListener(this);
+        if (!worker.isAlive()) return;
+        Threads.putUninterruptibly(queue, CLOSED);
+        Threads.joinUninterruptibly(worker);
+    }
+
+    // An interrupted mover still waits for room; a dropped event would desync the listener
+    private void put(Event event) {
+        Threads.putUninterruptibly(queue, event);
+    }
+
+    private void work() {
+        while (true) {
+            Event event;
+            try {
+                event = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (event == CLOSED) return;
+            try {
+                if (event == RESTORED) delegate.boardRestored();
+                else delegate.boardChanged(event.batch, event.reverted);
+            } catch (RuntimeException e) {
+                failed(e);
+            }
+        }
+    }
+
+    private void failed(RuntimeException e) {
+        try {
+            onError.accept(e);
+        } catch (RuntimeException ignored) {
+            // A broken handler must not stop delivery
+        }
+    }
+
+    private static class Event {
+        final DeltaBatch batch;
+        final boolean reverted;
+
+        Event(DeltaBatch batch, boolean reverted) {
+            this.batch = batch;
+            this.reverted = reverted;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package minesweeper;
+
+/**
+ * Applies every move the Solver currently knows to be forced, all safe reveals and all
+ * mine flags, as a single undoable batch.
+ */
+public class AutoSolveCommand implements Command {
+    private final Solver solver;
+
+    /** Uses the game's own solver, attaching one if needed */
+    public AutoSolveCommand() {
+        this(null);
+    }
+
+    public AutoSolveCommand(Solver solver) {
+        this.solver = solver;
+    }
+
+
+    @Override
+    public DeltaBatch apply(Board board, Game game) {
+        Solver s = solver != null ? solver : game.attachSolver();
+        DeltaBatch deltas = board.revealAndFlag(s.safeCells(), s.mineCells());
+        int deltaScore = board.lastMovePoints();
+        game.addScore(deltaScore);
+        game.setLastDeltaScore(deltaScore);
+        return deltas;
+    }
+
+
+    @Override
+    public void undo(Board board, Game game, DeltaBatch deltas) {
+        board.revertDelta(deltas);
+        game.addScore(-game.getLastDeltaScore());
+        game.setLastDeltaScore(0);
+    }
+}
@@ -0,0 +1,109 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * Saves a game after every move without blocking the caller. The move thread only takes
+ * a SaveFile.Image, which is O(1): the board is moved onto copy-on-write tiles the first
+ * time, and the timeline is shared. A background thread serialises and writes the newest
+ * image, so a burst of moves collapses into a single write.
+ */
+public class Autosaver implements AutoCloseable {
+    private final Path file;
+    private final Object lock = new Object();
+    private final Thread worker;
+    private SaveFile.Image pending;
+    private boolean closed;
+    private final Consumer<IOException> onChange;
+    private volatile IOException lastError;
+
+    public Autosaver(Path file) {
+        this(file, null);
+    }
+
+    /**
+     * onChange, if not null, is called on the autosave thread whenever saving starts
+     * failing (with the error) or recovers (with null).
+     */
+    public Autosaver(Path file, Consumer<IOException> onChange) {
+        this.file = file;
+        this.onChange = onChange;
+        this.worker = new Thread(this::work, "autosave");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** ~/.minesweeper/autosave.msw */
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty("user.home"), ".minesweeper", "autosave.msw");
+    }
+
+    /** The autosaved game if there is one still in progress, otherwise null */
+    public static Game resume(Path file) {
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            Game game = SaveFile.load(file);
+            return game.getBoard().status() == GameStatus.RUNNING ? game : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public Path file() { return file; }
+
+    /** Failure of the most recent write, or null if it succeeded */
+    public IOException lastError() { return lastError; }
+
+    /** Schedules a save of game's current state; call on the thread that makes moves */
+    public void moveMade(Game game) {
+        Board board = game.getBoard();
+        if (board.isChunked()) return;
+        board.useTiles();
+        SaveFile.Image image = SaveFile.capture(game);
+        synchronized (lock) {
+            pending = image;
+            lock.notifyAll();
+        }
+    }
+
+    /** Writes anything still pending, then stops the worker */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        Threads.joinUninterruptibly(worker);
+    }
+
+    private void work() {
+        while (true) {
+            SaveFile.Image image;
+            synchronized (lock) {
+                while (pending == null && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending == null) return;
+                image = pending;
+                pending = null;
+            }
+            IOException error = null;
+            try {
+                SaveFile.write(image, file);
+            } catch (IOException e) {
+                error = e;
+            }
+            boolean changed = (error == null) != (lastError == null);
+            lastError = error;
+            if (changed && onChange != null) onChange.accept(error);
+        }
+    }
+}
@@ -0,0 +1,571 @@
+package minesweeper;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+public class Board {
+    /** Cells a flood fill opens serially before handing the rest to the parallel pool */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private long seed;
+
+    // One byte per cell, row-major at r * cols + c, bit layout defined in Cell
+    private CellStore cells;
+    private GameStatus status = GameStatus.RUNNING;
+    // Reusable ring buffer of cell indices for the reveal flood fill
+    private int[] work = new int[64];
+    private int workMask = work.length - 1;
+    private final DeltaBatch.Builder builder = new DeltaBatch.Builder();
+    private int unrevealedSafe;
+    private boolean firstMove = true;
+    private boolean safeOpening;
+    private final List<BoardListener> listeners = new CopyOnWriteArrayList<>();
+    private ScoringPolicy scoring;
+    private int lastMovePoints;
+    private ForkJoinPool parallelPool;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    public Board(int rows, int cols, int mines) {
+        this(rows, cols, mines, new Random().nextLong());
+    }
+
+    /** Boards built from the same (rows, cols, mines, seed) have identical mine layouts */
+    public Board(int rows, int cols, int mines, long seed) {
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("Invalid size");
+        if ((long) rows * cols > Integer.MAX_VALUE) throw new IllegalArgumentException("Board too large");
+        if (mines < 0 || mines >= rows * cols) throw new IllegalArgumentException("Invalid mines");
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.seed = seed;
+        byte[] packed = new byte[rows * cols];
+        placeMines(packed, mines, new SplittableRandom(seed));
+        computeAdjacency(packed, rows, cols);
+        this.cells = new ArrayCellStore(packed);
+        this.unrevealedSafe = rows * cols - mines;
+        if (EngineMetrics.ENABLED) EngineMetrics.BOARD_CREATE.recordSince(start);
+    }
+
+    private Board(int rows, int cols, long seed, ChunkedCellStore chunks) {
+        long mines = chunks.totalMines();
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = (int) mines;
+        this.seed = seed;
+        this.cells = chunks;
+        this.unrevealedSafe = (int) ((long) rows * cols - mines);
+    }
+
+    private Board(int rows, int cols, int mines, long seed, CellStore cells, int unrevealedSafe) {
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.seed = seed;
+        this.cells = cells;
+        this.unrevealedSafe = unrevealedSafe;
+    }
+
+    /** Board around already packed cells (adjacency included), e.g. read back from a save file */
+    static Board fromPacked(int rows, int cols, int mines, long seed, byte[] packed, int unrevealedSafe,
+                            GameStatus status, boolean firstMove, boolean safeOpening) {
+        return fromStore(rows, cols, mines, seed, new ArrayCellStore(packed), unrevealedSafe, status, firstMove, safeOpening);
+    }
+
+    static Board fromStore(int rows, int cols, int mines, long seed, CellStore cells, int unrevealedSafe,
+                           GameStatus status, boolean firstMove, boolean safeOpening) {
+        Board board = new Board(rows, cols, mines, seed, cells, unrevealedSafe);
+        board.status = status;
+        board.firstMove = firstMove;
+        board.safeOpening = safeOpening;
+        return board;
+    }
+
+    /**
+     * Huge board whose cells are generated chunk by chunk on first access. Each chunk holds
+     * round(density * cells) mines placed from the seed and its chunk coordinates, so memory
+     * grows with the explored area rather than with rows * cols.
+     */
+    public static Board chunked(int rows, int cols, double density, long seed) {
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("Invalid size");
+        if ((long) rows * cols > Integer.MAX_VALUE) throw new IllegalArgumentException("Board too large");
+        if (!(density >= 0 && density < 1)) throw new IllegalArgumentException("Invalid density");
+        return new Board(rows, cols, seed, new ChunkedCellStore(rows, cols, density, seed));
+    }
+
+    /** Deals a fresh random layout in place, see {@link #reset(long)} */
+    public void reset() {
+        reset(new Random().nextLong());
+    }
+
+    /**
+     * Deals the layout new Board(rows, cols, mines, seed) would have into this board,
+     * reusing its cell array, so starting game after game allocates nothing. Listeners
+     * stay subscribed and are told through boardRestored; the scoring policy (with its
+     * state restored to 0) and the parallel reveal setting are kept. A tiled board gets
+     * fresh tiles, since snapshots may still share the old ones; chunked boards cannot be
+     * reset.
+     */
+    public void reset(long seed) {
+        if (isChunked()) throw new IllegalArgumentException("Chunked boards cannot be reset");
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        boolean flat = cells instanceof ArrayCellStore;
+        byte[] packed = flat ? ((ArrayCellStore) cells).cells : new byte[rows * cols];
+        if (flat) Arrays.fill(packed, (byte) 0);
+        placeMines(packed, mines, new SplittableRandom(seed));
+        computeAdjacency(packed, rows, cols);
+        if (!flat) cells = TiledCellStore.of(packed);
+        this.seed = seed;
+        status = GameStatus.RUNNING;
+        unrevealedSafe = rows * cols - mines;
+        firstMove = true;
+        lastMovePoints = 0;
+        if (scoring != null) scoring.restore(0);
+        if (EngineMetrics.ENABLED) EngineMetrics.BOARD_CREATE.recordSince(start);
+        for (BoardListener l : listeners) l.boardRestored();
+    }
+
+    public static Board fromDifficulty(Difficulty difficulty) {
+        return new Board(difficulty.rows(), difficulty.cols(), difficulty.mines());
+    }
+
+    public static Board fromDifficulty(Difficulty difficulty, long seed) {
+        return new Board(difficulty.rows(), difficulty.cols(), difficulty.mines(), seed);
+    }
+
+    /**
+     * Floyd's sampling: picks exactly count distinct cells in O(count) draws, using the
+     * mine bit itself as the "already chosen" set. Dense boards sample the safe cells instead.
+     */
+    static void placeMines(byte[] cells, int count, SplittableRandom rnd) {
+        int n = cells.length;
+        boolean dense = count > n / 2;
+        int picks = dense ? n - count : count;
+        if (dense) {
+            for (int i = 0; i < n; i++) cells[i] |= Cell.MINE;
+        }
+        for (int j = n - picks; j < n; j++) {
+            int t = rnd.nextInt(j + 1);
+            if (((cells[t] & Cell.MINE) != 0) == !dense) t = j;
+            cells[t] ^= Cell.MINE;
+        }
+    }
+
+    /**
+     * Fills in the adjacency counts of a freshly mined flat board (counts must start at zero).
+     * Each mine bumps its neighbours, so the work is one sequential scan plus 8 per mine.
+     */
+    static void computeAdjacency(byte[] cells, int rows, int cols) {
+        for (int i = 0; i < cells.length; i++) {
+            if ((cells[i] & Cell.MINE) == 0) continue;
+            int r = i / cols, c = i % cols;
+            int c0 = Math.max(0, c - 1), c1 = Math.min(cols - 1, c + 1);
+            for (int rr = Math.max(0, r - 1), r1 = Math.min(rows - 1, r + 1); rr <= r1; rr++) {
+                for (int nb = rr * cols + c0, end = rr * cols + c1; nb <= end; nb++) {
+                    if (nb != i) cells[nb]++;
+                }
+            }
+        }
+    }
+
+    public int rows() { return rows; }
+    public int cols() { return cols; }
+    public int mines() { return mines; }
+    public long seed() { return seed; }
+    public GameStatus status() { return status; }
+    public Cell cell(int r, int c) { return inBounds(r, c) ? new Cell(r, c, cells.get(index(r, c))) : null; }
+
+    /** Packed state of cell r * cols + c, for engine code that works on indices */
+    byte stateAt(int index) { return cells.get(index); }
+
+    /** Estimated heap held by the cell storage; for chunked boards this tracks the explored area */
+    public long stateBytes() { return cells.retainedBytes(); }
+
+    /** Part of stateBytes a snapshot of this board would not share with since */
+    long stateBytesBeyond(Snapshot since) {
+        return cells.retainedBytesBeyond(since == null ? null : since.cells);
+    }
+
+    private boolean inBounds(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    private int index(int r, int c) {
+        return r * cols + c;
+    }
+
+    private boolean has(int i, int bit) {
+        return (cells.get(i) & bit) != 0;
+    }
+
+    private void set(int i, int bit, boolean on) {
+        byte b = cells.get(i);
+        cells.set(i, (byte) (on ? b | bit : b & ~bit));
+    }
+
+    /** When enabled, the first reveal also clears every mine from the 3x3 around it */
+    public void setSafeOpening(boolean safeOpening) { this.safeOpening = safeOpening; }
+    public boolean isSafeOpening() { return safeOpening; }
+
+    private void ensureFirstClickSafe(int start) {
+        if (!firstMove) return;
+        int sr = start / cols, sc = start % cols;
+        int r0 = sr, r1 = sr, c0 = sc, c1 = sc;
+        if (safeOpening) {
+            r0 = Math.max(0, sr - 1); r1 = Math.min(rows - 1, sr + 1);
+            c0 = Math.max(0, sc - 1); c1 = Math.min(cols - 1, sc + 1);
+        }
+        // Move every mine in the cleared zone to the first free cell outside it
+        int next = 0, n = rows * cols, moved = 0;
+        // The clicked cell goes first, so it is cleared even when the rest of the zone cannot be
+        if (has(start, Cell.MINE)) {
+            while (next < n && (has(next, Cell.MINE) || inZone(next, r0, r1, c0, c1))) next++;
+            int to = next;
+            if (to == n) {
+                // No free cell outside the zone; mines < cells leaves one inside it
+                to = 0;
+                while (to == start || has(to, Cell.MINE)) to++;
+            }
+            removeMine(start);
+            addMine(to);
+            moved++;
+        }
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int i = index(r, c);
+                if (!has(i, Cell.MINE)) continue;
+                while (next < n && (has(next, Cell.MINE) || inZone(next, r0, r1, c0, c1))) next++;
+                if (next == n) break; // board too dense to clear the opening
+                removeMine(i);
+                addMine(next);
+                moved++;
+            }
+            if (next == n) break;
+        }
+        if (EngineMetrics.ENABLED && moved > 0) EngineMetrics.firstClickRelocated(moved);
+    }
+
+    private boolean inZone(int i, int r0, int r1, int c0, int c1) {
+        int r = i / cols, c = i % cols;
+        return r >= r0 && r <= r1 && c >= c0 && c <= c1;
+    }
+
+    // Neighbours are adjusted before the mine bit changes: a lazily generated neighbour
+    // chunk counts the mine as it stands at generation time, then receives the adjustment.
+    private void addMine(int i) {
+        adjustNeighbours(i, 1);
+        set(i, Cell.MINE, true);
+        unrevealedSafe--;
+    }
+
+    private void removeMine(int i) {
+        adjustNeighbours(i, -1);
+        set(i, Cell.MINE, false);
+        unrevealedSafe++;
+    }
+
+    private void adjustNeighbours(int i, int by) {
+        int r = i / cols, c = i % cols;
+        int r0 = Math.max(0, r - 1), r1 = Math.min(rows - 1, r + 1);
+        int c0 = Math.max(0, c - 1), c1 = Math.min(cols - 1, c + 1);
+        for (int rr = r0; rr <= r1; rr++) {
+            for (int nb = rr * cols + c0, end = rr * cols + c1; nb <= end; nb++) {
+                if (nb != i) cells.set(nb, (byte) (cells.get(nb) + by));
+            }
+        }
+    }
+
+    private void growWork(int head) {
+        // The flood fill indexes with running counters, so live entries keep their offsets from head
+        int[] grown = new int[work.length * 2];
+        int mask = grown.length - 1;
+        for (int i = 0; i < work.length; i++) {
+            grown[(head + i) & mask] = work[(head + i) & workMask];
+        }
+        work = grown;
+        workMask = mask;
+    }
+
+    /** Copy of the mutable board state, used by History for checkpoints; O(1) on tiled boards */
+    Snapshot snapshot() {
+        CellStore copy = cells instanceof TiledCellStore ? ((TiledCellStore) cells).freeze() : cells.copy();
+        return new Snapshot(copy, status, unrevealedSafe, firstMove, scoring == null ? 0 : scoring.state());
+    }
+
+    /**
+     * Moves a flat board onto copy-on-write tiles, copying every cell once. From then on
+     * snapshots (History checkpoints, autosave images, freeze) are O(1) and a move copies
+     * only the tiles it touches. Chunked boards keep their own storage.
+     */
+    void useTiles() {
+        if (cells instanceof ArrayCellStore) cells = TiledCellStore.of(((ArrayCellStore) cells).cells);
+    }
+
+    /**
+     * Immutable copy of the current state that shares cells with this board copy-on-write.
+     * The first call moves a flat board onto tiled storage, which copies every cell once;
+     * after that each call is O(1) and a move copies only the tiles it touches. Chunked
+     * boards cannot be frozen.
+     */
+    public BoardSnapshot freeze() {
+        if (isChunked()) throw new IllegalArgumentException("Chunked boards cannot be frozen");
+        useTiles();
+        return new BoardSnapshot(rows, cols, mines, seed, ((TiledCellStore) cells).freeze(), status,
+                unrevealedSafe, firstMove, safeOpening);
+    }
+
+    boolean isFirstMove() { return firstMove; }
+    boolean isChunked() { return cells instanceof ChunkedCellStore; }
+
+    void restore(Snapshot snapshot) {
+        cells = snapshot.cells.copy();
+        status = snapshot.status;
+        unrevealedSafe = snapshot.unrevealedSafe;
+        firstMove = snapshot.firstMove;
+        if (scoring != null) scoring.restore(snapshot.scoringState);
+        for (BoardListener l : listeners) l.boardRestored();
+    }
+
+    static class Snapshot {
+        final CellStore cells;
+        final GameStatus status;
+        final int unrevealedSafe;
+        final boolean firstMove;
+        final long scoringState;
+
+        Snapshot(CellStore cells, GameStatus status, int unrevealedSafe, boolean firstMove, long scoringState) {
+            this.cells = cells;
+            this.status = status;
+            this.unrevealedSafe = unrevealedSafe;
+            this.firstMove = firstMove;
+            this.scoringState = scoringState;
+        }
+
+        /** Footprint not shared with base, an earlier snapshot of the same board (or null) */
+        long retainedBytesBeyond(Snapshot base) {
+            return 56 + cells.retainedBytesBeyond(base == null ? null : base.cells);
+        }
+    }
+
+    public DeltaBatch reveal(int r, int c) {
+        lastMovePoints = 0;
+        if (status != GameStatus.RUNNING) return DeltaBatch.EMPTY;
+        if (!inBounds(r, c)) return DeltaBatch.EMPTY;
+        int start = index(r, c);
+        if (has(start, Cell.REVEALED) || has(start, Cell.FLAGGED)) return DeltaBatch.EMPTY;
+
+        long startNanos = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        GameStatus prevStatus = status;
+        if (scoring != null) scoring.begin(this);
+        if (firstMove) {
+            ensureFirstClickSafe(start);
+            firstMove = false;
+        }
+
+        DeltaBatch.Builder deltas = builder.clear();
+        flood(start, deltas);
+        if (status == GameStatus.RUNNING && unrevealedSafe == 0) status = GameStatus.WON;
+        if (scoring != null) lastMovePoints = scoring.end(prevStatus, status);
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.FLOOD_CELLS.record(deltas.revealedCount());
+            EngineMetrics.REVEAL.recordSince(startNanos);
+        }
+        return publish(deltas.build(prevStatus, status), false);
+    }
+
+    /**
+     * Flags every listed cell and reveals every listed safe cell as one move, e.g. all
+     * forced moves found by the Solver. Cells already in the target state are skipped.
+     */
+    public DeltaBatch revealAndFlag(int[] reveal, int[] flag) {
+        lastMovePoints = 0;
+        if (status != GameStatus.RUNNING) return DeltaBatch.EMPTY;
+        GameStatus prevStatus = status;
+        if (scoring != null) scoring.begin(this);
+        DeltaBatch.Builder deltas = builder.clear();
+        for (int i : flag) {
+            if (has(i, Cell.REVEALED) || has(i, Cell.FLAGGED)) continue;
+            set(i, Cell.FLAGGED, true);
+            deltas.flagged(i);
+            if (scoring != null) scoring.flagged(i, has(i, Cell.MINE));
+        }
+        for (int i : reveal) {
+            if (status != GameStatus.RUNNING) break;
+            if (has(i, Cell.REVEALED) || has(i, Cell.FLAGGED)) continue;
+            flood(i, deltas);
+        }
+        if (status == GameStatus.RUNNING && unrevealedSafe == 0) status = GameStatus.WON;
+        if (scoring != null) lastMovePoints = scoring.end(prevStatus, status);
+        return publish(deltas.build(prevStatus, status), false);
+    }
+
+    /**
+     * Lets flood fills larger than threshold cells finish on pool, see ParallelFlood; null
+     * turns it off. The outcome is the same as a serial fill. Chunked boards always fill
+     * serially.
+     */
+    public void setParallelReveal(ForkJoinPool pool, int threshold) {
+        if (threshold <= 0) throw new IllegalArgumentException("Invalid threshold");
+        this.parallelPool = pool;
+        this.parallelThreshold = threshold;
+    }
+
+    /** Reveals start, and the whole zero region behind it, into deltas */
+    private void flood(int start, DeltaBatch.Builder deltas) {
+        int mark = deltas.revealedCount();
+        deltas.revealed(start);
+        set(start, Cell.REVEALED, true);
+        if (scoring != null) scoring.revealed(start, has(start, Cell.MINE));
+
+        if (has(start, Cell.MINE)) {
+            status = GameStatus.LOST;
+            return;
+        }
+
+        // BFS flood fill for zeros; cells are marked revealed when queued so each is visited once
+        boolean parallel = parallelPool != null && !isChunked();
+        int head = 0, tail = 0;
+        work[tail++ & workMask] = start;
+        while (head != tail) {
+            if (parallel && tail >= parallelThreshold) {
+                floodInParallel(head, tail, mark, deltas);
+                return;
+            }
+            int cur = work[head++ & workMask];
+            unrevealedSafe--;
+
+            if ((cells.get(cur) & Cell.ADJ_MASK) != 0) continue;
+            int cr = cur / cols, cc = cur % cols;
+            int r0 = Math.max(0, cr - 1), r1 = Math.min(rows - 1, cr + 1);
+            int c0 = Math.max(0, cc - 1), c1 = Math.min(cols - 1, cc + 1);
+            for (int rr = r0; rr <= r1; rr++) {
+                for (int nb = rr * cols + c0, end = rr * cols + c1; nb <= end; nb++) {
+                    byte b = cells.get(nb);
+                    if ((b & (Cell.REVEALED | Cell.FLAGGED)) != 0) continue;
+                    cells.set(nb, (byte) (b | Cell.REVEALED));
+                    deltas.revealed(nb);
+                    // Neighbours of a zero are never mines
+                    if (scoring != null) scoring.revealed(nb, false);
+                    if (tail - head == work.length) growWork(head);
+                    work[tail++ & workMask] = nb;
+                }
+            }
+        }
+    }
+
+    /** Hands the queued cells work[head, tail) to ParallelFlood and merges what it opens into deltas */
+    private void floodInParallel(int head, int tail, int mark, DeltaBatch.Builder deltas) {
+        int[] frontier = new int[tail - head];
+        for (int i = 0; i < frontier.length; i++) frontier[i] = work[(head + i) & workMask];
+        ParallelFlood.Result result = cells instanceof TiledCellStore
+                ? ParallelFlood.run(parallelPool, ((TiledCellStore) cells).writableTiles(), TiledCellStore.TILE_BITS,
+                        rows, cols, frontier, 0, frontier.length)
+                : ParallelFlood.run(parallelPool, new byte[][] {((ArrayCellStore) cells).cells}, ParallelFlood.FLAT,
+                        rows, cols, frontier, 0, frontier.length);
+        unrevealedSafe -= result.opened;
+        // Both parts sorted keeps the final encode a cheap merge of runs
+        deltas.sortRevealedFrom(mark);
+        deltas.revealedAll(result.revealed);
+        if (scoring != null) {
+            for (int i : result.revealed) scoring.revealed(i, false);
+        }
+    }
+
+    public DeltaBatch toggleFlag(int r, int c) {
+        lastMovePoints = 0;
+        if (status != GameStatus.RUNNING) return DeltaBatch.EMPTY;
+        if (!inBounds(r, c)) return DeltaBatch.EMPTY;
+        int i = index(r, c);
+        if (has(i, Cell.REVEALED)) return DeltaBatch.EMPTY;
+
+        if (scoring != null) scoring.begin(this);
+        DeltaBatch.Builder deltas = builder.clear();
+        boolean mine = has(i, Cell.MINE);
+        if (has(i, Cell.FLAGGED)) {
+            deltas.unflagged(i);
+            if (scoring != null) scoring.unflagged(i, mine);
+        } else {
+            deltas.flagged(i);
+            if (scoring != null) scoring.flagged(i, mine);
+        }
+        cells.set(i, (byte) (cells.get(i) ^ Cell.FLAGGED));
+        if (scoring != null) lastMovePoints = scoring.end(status, status);
+        return publish(deltas.build(status, status), false);
+    }
+
+    public void applyDelta(DeltaBatch batch) {
+        batch.forEachFlagged(i -> set(i, Cell.FLAGGED, true));
+        batch.forEachUnflagged(i -> set(i, Cell.FLAGGED, false));
+        batch.forEachRevealed(i -> {
+            if (has(i, Cell.REVEALED)) return;
+            set(i, Cell.REVEALED, true);
+            if (!has(i, Cell.MINE)) unrevealedSafe--;
+        });
+        status = batch.nextStatus;
+        publish(batch, false);
+    }
+
+    public void revertDelta(DeltaBatch batch) {
+        batch.forEachRevealed(i -> {
+            if (!has(i, Cell.REVEALED)) return;
+            set(i, Cell.REVEALED, false);
+            if (!has(i, Cell.MINE)) unrevealedSafe++;
+        });
+        batch.forEachFlagged(i -> set(i, Cell.FLAGGED, false));
+        batch.forEachUnflagged(i -> set(i, Cell.FLAGGED, true));
+        status = batch.prevStatus;
+        publish(batch, true);
+    }
+
+    /**
+     * Policy fed every cell as reveal, revealAndFlag and toggleFlag change it; null turns
+     * scoring off. Replayed or reverted batches are not scored, but a policy that is also
+     * a BoardListener is subscribed for as long as it is set and sees them there.
+     */
+    public void setScoring(ScoringPolicy scoring) {
+        if (this.scoring instanceof BoardListener) listeners.remove((BoardListener) this.scoring);
+        this.scoring = scoring;
+        if (scoring instanceof BoardListener) listeners.add((BoardListener) scoring);
+    }
+    public ScoringPolicy getScoring() { return scoring; }
+
+    /** Points the scoring policy gave the most recent reveal, revealAndFlag or toggleFlag */
+    public int lastMovePoints() { return lastMovePoints; }
+
+    /** Listeners are called synchronously, in subscription order, after each change */
+    public void addListener(BoardListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BoardListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Subscribes listener through a bounded queue drained by its own thread. Close the
+     * returned handle to unsubscribe. Exceptions the listener throws are printed.
+     */
+    public AsyncBoardListener addAsyncListener(BoardListener listener, int capacity) {
+        return addAsyncListener(listener, capacity, Throwable::printStackTrace);
+    }
+
+    /** Like addAsyncListener(listener, capacity), with listener failures handed to onError on its thread */
+    public AsyncBoardListener addAsyncListener(BoardListener listener, int capacity,
+                                               Consumer<RuntimeException> onError) {
+        AsyncBoardListener async = new AsyncBoardListener(this, listener, capacity, onError);
+        listeners.add(async);
+        return async;
+    }
+
+    private DeltaBatch publish(DeltaBatch batch, boolean reverted) {
+        if (batch != DeltaBatch.EMPTY) {
+            for (BoardListener l : listeners) l.boardChanged(batch, reverted);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,288 @@
+package minesweeper;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+/**
+ * Paints a whole board as one component. Only the cells inside the clip (normally the
+ * scroll pane's viewport) are drawn, straight from the board's packed state, so paint
+ * time and memory depend on the viewport rather than the board size. The canvas listens
+ * to its board and repaints whatever each move changed.
+ *
+ * Board events may arrive on any thread, e.g. from a GameEngine. Their cells are merged
+ * into one dirty box and at most one repaint is pending on the EDT at a time, so a burst
+ * of moves costs a single repaint of the area they touched.
+ */
+public class BoardCanvas extends JComponent implements Scrollable, BoardListener {
+    /** Receives clicks already mapped to board coordinates */
+    public interface CellHandler {
+        void reveal(int r, int c);
+        void flag(int r, int c);
+    }
+
+    static final int MIN_CELL_SIZE = 8;
+    static final int MAX_CELL_SIZE = 64;
+    static final int DEFAULT_CELL_SIZE = 32;
+
+    private static final Color HIDDEN_BACKGROUND = new Color(192, 192, 192);
+    private static final Color HIDDEN_LIGHT = new Color(240, 240, 240);
+    private static final Color HIDDEN_SHADOW = new Color(128, 128, 128);
+    private static final Color MINE_BACKGROUND = new Color(180, 60, 60);
+    private static final Color REVEALED_BACKGROUND = new Color(220, 220, 220);
+    private static final Color GRID_LINE = new Color(170, 170, 170);
+    private static final Color[] ADJ_COLORS = {
+            Color.BLACK,
+            new Color(0, 0, 255),       // blue
+            new Color(0, 128, 0),       // green
+            new Color(255, 0, 0),       // red
+            new Color(0, 0, 128),       // dark blue
+            new Color(128, 0, 0),       // dark red
+            new Color(0, 128, 128),     // teal
+            new Color(0, 0, 0),         // black
+            new Color(128, 128, 128),   // gray
+    };
+    private static final String[] ADJ_TEXT = {"", "1", "2", "3", "4", "5", "6", "7", "8"};
+
+    // Largest viewport offered before scrolling, in pixels
+    private static final int MAX_VIEWPORT_WIDTH = 1200;
+    private static final int MAX_VIEWPORT_HEIGHT = 800;
+
+    private final CellHandler handler;
+    private volatile Board board;
+    private int cellSize = DEFAULT_CELL_SIZE;
+    private Font font;
+    // Dirty cell box (rows r0..r1, cols c0..c1) not yet handed to repaint, guarded by dirtyLock
+    private final Object dirtyLock = new Object();
+    private int dirtyR0 = Integer.MAX_VALUE, dirtyC0 = Integer.MAX_VALUE, dirtyR1 = -1, dirtyC1 = -1;
+    private boolean dirtyAll;
+    private boolean flushScheduled;
+
+    public BoardCanvas(Board board, CellHandler handler) {
+        this.board = board;
+        this.handler = handler;
+        board.addListener(this);
+        updateFont();
+        setOpaque(true);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (!contains(e.getPoint())) return;
+                int r = e.getY() / cellSize, c = e.getX() / cellSize;
+                if (r >= BoardCanvas.this.board.rows() || c >= BoardCanvas.this.board.cols()) return;
+                if (SwingUtilities.isLeftMouseButton(e)) {
+                    handler.reveal(r, c);
+                } else if (SwingUtilities.isRightMouseButton(e)) {
+                    handler.flag(r, c);
+                }
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                if (e.isControlDown()) {
+                    zoom(e.getWheelRotation() < 0 ? 1 : -1, e.getPoint());
+                } else {
+                    // A wheel listener here would otherwise swallow normal scrolling
+                    JScrollPane pane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, BoardCanvas.this);
+                    if (pane != null) pane.dispatchEvent(SwingUtilities.convertMouseEvent(BoardCanvas.this, e, pane));
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    /** Shows another board; the component is resized if the dimensions differ */
+    public void setBoard(Board board) {
+        if (board == this.board) {
+            repaint();
+            return;
+        }
+        boolean resized = board.rows() != this.board.rows() || board.cols() != this.board.cols();
+        this.board.removeListener(this);
+        this.board = board;
+        board.addListener(this);
+        if (resized) revalidate();
+        repaint();
+    }
+
+    public int getCellSize() { return cellSize; }
+
+    /** Changes the zoom level, keeping the cell under anchor (component coordinates) in place */
+    public void setCellSize(int size, Point anchor) {
+        size = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, size));
+        if (size == cellSize) return;
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        Point view = viewport == null ? null : viewport.getViewPosition();
+
+        double fx = anchor.x / (double) cellSize, fy = anchor.y / (double) cellSize;
+        cellSize = size;
+        updateFont();
+        setSize(getPreferredSize());
+        revalidate();
+
+        if (viewport != null) {
+            int x = (int) (fx * size) - (anchor.x - view.x);
+            int y = (int) (fy * size) - (anchor.y - view.y);
+            Dimension extent = viewport.getExtentSize();
+            x = Math.max(0, Math.min(x, getWidth() - extent.width));
+            y = Math.max(0, Math.min(y, getHeight() - extent.height));
+            viewport.setViewPosition(new Point(x, y));
+        }
+        repaint();
+    }
+
+    private void zoom(int steps, Point anchor) {
+        int step = Math.max(2, cellSize / 8);
+        setCellSize(cellSize + steps * step, anchor);
+    }
+
+    private void updateFont() {
+        font = new Font(Font.SANS_SERIF, Font.BOLD, Math.max(6, cellSize * 9 / 16));
+    }
+
+    @Override
+    public void boardChanged(DeltaBatch batch, boolean reverted) {
+        repaintCells(batch);
+    }
+
+    @Override
+    public void boardRestored() {
+        synchronized (dirtyLock) {
+            dirtyAll = true;
+            scheduleFlush();
+        }
+    }
+
+    /** Schedules a repaint of just the area covered by the batch's cells; safe on any thread */
+    public void repaintCells(DeltaBatch deltas) {
+        if (deltas.isEmpty()) return;
+        int cols = board.cols();
+        int[] box = {Integer.MAX_VALUE, Integer.MAX_VALUE, -1, -1};
+        deltas.forEachCell(i -> {
+            int r = i / cols, c = i % cols;
+            if (r < box[0]) box[0] = r;
+            if (c < box[1]) box[1] = c;
+            if (r > box[2]) box[2] = r;
+            if (c > box[3]) box[3] = c;
+        });
+        synchronized (dirtyLock) {
+            dirtyR0 = Math.min(dirtyR0, box[0]);
+            dirtyC0 = Math.min(dirtyC0, box[1]);
+            dirtyR1 = Math.max(dirtyR1, box[2]);
+            dirtyC1 = Math.max(dirtyC1, box[3]);
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        SwingUtilities.invokeLater(this::flushDirty);
+    }
+
+    private void flushDirty() {
+        int r0, c0, r1, c1;
+        boolean all;
+        synchronized (dirtyLock) {
+            r0 = dirtyR0; c0 = dirtyC0; r1 = dirtyR1; c1 = dirtyC1;
+            all = dirtyAll;
+            dirtyR0 = dirtyC0 = Integer.MAX_VALUE;
+            dirtyR1 = dirtyC1 = -1;
+            dirtyAll = false;
+            flushScheduled = false;
+        }
+        if (all) {
+            repaint();
+        } else if (r1 >= 0) {
+            repaint(c0 * cellSize, r0 * cellSize, (c1 - c0 + 1) * cellSize, (r1 - r0 + 1) * cellSize);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(board.cols() * cellSize, board.rows() * cellSize);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        g.setColor(getBackground() == null ? Color.LIGHT_GRAY : getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int r0 = Math.max(0, clip.y / cellSize);
+        int c0 = Math.max(0, clip.x / cellSize);
+        int r1 = Math.min(board.rows() - 1, (clip.y + clip.height - 1) / cellSize);
+        int c1 = Math.min(board.cols() - 1, (clip.x + clip.width - 1) / cellSize);
+
+        g.setFont(font);
+        FontMetrics fm = g.getFontMetrics();
+        int cols = board.cols();
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                paintCell(g, fm, c * cellSize, r * cellSize, board.stateAt(r * cols + c));
+            }
+        }
+    }
+
+    private void paintCell(Graphics g, FontMetrics fm, int x, int y, byte state) {
+        int s = cellSize;
+        if ((state & Cell.REVEALED) != 0) {
+            boolean mine = (state & Cell.MINE) != 0;
+            g.setColor(mine ? MINE_BACKGROUND : REVEALED_BACKGROUND);
+            g.fillRect(x, y, s, s);
+            g.setColor(GRID_LINE);
+            g.drawRect(x, y, s - 1, s - 1);
+            if (mine) {
+                drawCentered(g, fm, "💣", x, y, Color.WHITE);
+            } else {
+                int adj = state & Cell.ADJ_MASK;
+                if (adj != 0) drawCentered(g, fm, ADJ_TEXT[adj], x, y, ADJ_COLORS[adj]);
+            }
+        } else {
+            g.setColor(HIDDEN_BACKGROUND);
+            g.fillRect(x, y, s, s);
+            g.setColor(HIDDEN_LIGHT);
+            g.drawLine(x, y, x + s - 2, y);
+            g.drawLine(x, y, x, y + s - 2);
+            g.setColor(HIDDEN_SHADOW);
+            g.drawLine(x + s - 1, y, x + s - 1, y + s - 1);
+            g.drawLine(x, y + s - 1, x + s - 1, y + s - 1);
+            if ((state & Cell.FLAGGED) != 0) drawCentered(g, fm, "🚩", x, y, Color.RED);
+        }
+    }
+
+    private void drawCentered(Graphics g, FontMetrics fm, String text, int x, int y, Color color) {
+        g.setColor(color);
+        int tx = x + (cellSize - fm.stringWidth(text)) / 2;
+        int ty = y + (cellSize + fm.getAscent() - fm.getDescent()) / 2;
+        g.drawString(text, tx, ty);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension d = getPreferredSize();
+        return new Dimension(Math.min(d.width, MAX_VIEWPORT_WIDTH), Math.min(d.height, MAX_VIEWPORT_HEIGHT));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visible, int orientation, int direction) {
+        return cellSize;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visible, int orientation, int direction) {
+        int extent = orientation == SwingConstants.HORIZONTAL ? visible.width : visible.height;
+        return Math.max(cellSize, extent - cellSize);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() { return false; }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() { return false; }
+}
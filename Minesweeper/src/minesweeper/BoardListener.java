@@ -0,0 +1,14 @@
+package minesweeper;
+
+/**
+ * Receives every change made to a Board, in order. Each batch names exactly the cells a
+ * move touched plus its status transition, so listeners can keep derived state up to date
+ * in O(changes) instead of rescanning the board.
+ */
+public interface BoardListener {
+    /** A batch was applied to the board, or undone when reverted is true */
+    void boardChanged(DeltaBatch batch, boolean reverted);
+
+    /** The board state was replaced wholesale, e.g. restored from a checkpoint */
+    default void boardRestored() {}
+}
@@ -0,0 +1,96 @@
+package minesweeper;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Background stock of ready no-guess boards per Difficulty. Worker threads on every core
+ * keep each queue topped up, so taking a board is a constant-time poll and game setup
+ * never waits for rejection sampling.
+ */
+public class BoardPool {
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private static BoardPool shared;
+
+    private final Map<Difficulty, BlockingQueue<Board>> ready = new EnumMap<>(Difficulty.class);
+    private final Object lock = new Object();
+    private volatile boolean running = true;
+
+    public BoardPool(int capacity, int threads) {
+        if (capacity <= 0 || threads <= 0) throw new IllegalArgumentException("Invalid pool size");
+        for (Difficulty d : Difficulty.values()) ready.put(d, new ArrayBlockingQueue<>(capacity));
+        SplittableRandom seeds = new SplittableRandom();
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom rnd = seeds.split();
+            Thread t = new Thread(() -> work(rnd), "board-pool-" + i);
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            t.start();
+        }
+    }
+
+    /** Process-wide pool, started on first use with one worker per core */
+    public static synchronized BoardPool shared() {
+        if (shared == null) shared = new BoardPool(DEFAULT_CAPACITY, Runtime.getRuntime().availableProcessors());
+        return shared;
+    }
+
+    /** A ready board, or null if the pool for this difficulty is currently drained */
+    public Board poll(Difficulty difficulty) {
+        Board board = ready.get(difficulty).poll();
+        if (board != null) {
+            synchronized (lock) { lock.notifyAll(); }
+        }
+        return board;
+    }
+
+    public int available(Difficulty difficulty) {
+        return ready.get(difficulty).size();
+    }
+
+    public void shutdown() {
+        running = false;
+        synchronized (lock) { lock.notifyAll(); }
+    }
+
+    private void work(SplittableRandom rnd) {
+        while (running) {
+            Difficulty wanted = mostWanted();
+            if (wanted == null) {
+                synchronized (lock) {
+                    while (running && mostWanted() == null) {
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+                continue;
+            }
+            long seed = rnd.nextLong();
+            if (NoGuessGenerator.isSolvable(wanted.rows(), wanted.cols(), wanted.mines(), seed)) {
+                // May be full by now if another worker finished first; the extra board is dropped
+                ready.get(wanted).offer(NoGuessGenerator.candidate(wanted.rows(), wanted.cols(), wanted.mines(), seed));
+            }
+        }
+    }
+
+    /** The difficulty with the emptiest queue that still has room, or null when all are full */
+    private Difficulty mostWanted() {
+        Difficulty best = null;
+        int bestSize = Integer.MAX_VALUE;
+        for (Map.Entry<Difficulty, BlockingQueue<Board>> e : ready.entrySet()) {
+            BlockingQueue<Board> q = e.getValue();
+            if (q.remainingCapacity() > 0 && q.size() < bestSize) {
+                best = e.getKey();
+                bestSize = q.size();
+            }
+        }
+        return best;
+    }
+}
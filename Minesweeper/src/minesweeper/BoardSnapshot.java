@@ -0,0 +1,84 @@
+package minesweeper;
+
+/**
+ * Immutable board state that shares its cells copy-on-write with the board it came from
+ * and with every fork of it, see {@link Board#freeze()}. Forking with {@link #apply} or
+ * {@link #toBoard} is O(1) up front and copies a 4 KiB tile only when a cell in it
+ * changes, so solvers and previews can keep thousands of variations of one board alive.
+ * Snapshots are safe to share between threads.
+ */
+public final class BoardSnapshot {
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final long seed;
+    private final TiledCellStore cells;
+    private final GameStatus status;
+    private final int unrevealedSafe;
+    private final boolean firstMove;
+    private final boolean safeOpening;
+
+    BoardSnapshot(int rows, int cols, int mines, long seed, TiledCellStore cells, GameStatus status,
+                  int unrevealedSafe, boolean firstMove, boolean safeOpening) {
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.seed = seed;
+        this.cells = cells;
+        this.status = status;
+        this.unrevealedSafe = unrevealedSafe;
+        this.firstMove = firstMove;
+        this.safeOpening = safeOpening;
+    }
+
+    public int rows() { return rows; }
+    public int cols() { return cols; }
+    public int mines() { return mines; }
+    public long seed() { return seed; }
+    public GameStatus status() { return status; }
+    public int unrevealedSafe() { return unrevealedSafe; }
+    public boolean isFirstMove() { return firstMove; }
+
+    public Cell cell(int r, int c) {
+        if (r < 0 || r >= rows || c < 0 || c >= cols) return null;
+        return new Cell(r, c, cells.get(r * cols + c));
+    }
+
+    /** Packed state of cell r * cols + c */
+    byte stateAt(int index) { return cells.get(index); }
+
+    /** Tiles this snapshot does not share with the one it was forked from */
+    int ownedTiles() { return cells.ownedTiles(); }
+
+    /**
+     * Fork with batch applied the way Board.applyDelta would; this snapshot is unchanged.
+     * A batch only carries cell states, not the mines a board moves away from the first
+     * click, so before the first reveal only batches that reveal nothing are accepted;
+     * reveal on {@link #toBoard} and freeze that instead.
+     */
+    public BoardSnapshot apply(DeltaBatch batch) {
+        if (firstMove && batch.revealedCount() > 0) {
+            throw new IllegalArgumentException("Invalid batch: reveals before the first move");
+        }
+        TiledCellStore fork = cells.copy();
+        batch.forEachFlagged(i -> fork.set(i, (byte) (fork.get(i) | Cell.FLAGGED)));
+        batch.forEachUnflagged(i -> fork.set(i, (byte) (fork.get(i) & ~Cell.FLAGGED)));
+        int[] opened = new int[1];
+        batch.forEachRevealed(i -> {
+            byte b = fork.get(i);
+            if ((b & Cell.REVEALED) != 0) return;
+            fork.set(i, (byte) (b | Cell.REVEALED));
+            if ((b & Cell.MINE) == 0) opened[0]++;
+        });
+        return new BoardSnapshot(rows, cols, mines, seed, fork.freeze(), batch.nextStatus,
+                unrevealedSafe - opened[0], firstMove, safeOpening);
+    }
+
+    /**
+     * Live board starting from this state. It shares tiles with this snapshot until it
+     * writes them, and has no listeners, scoring or history of its own.
+     */
+    public Board toBoard() {
+        return Board.fromStore(rows, cols, mines, seed, cells.copy(), unrevealedSafe, status, firstMove, safeOpening);
+    }
+}
@@ -0,0 +1,29 @@
+package minesweeper;
+
+/**
+ * Read-only view of one board position. The board itself keeps every cell as a
+ * single packed byte; a Cell is decoded from that byte on demand.
+ */
+public class Cell {
+    // Packed cell layout: low nibble is the adjacency count, high bits are flags
+    static final int ADJ_MASK = 0x0F;
+    static final int MINE = 0x10;
+    static final int REVEALED = 0x20;
+    static final int FLAGGED = 0x40;
+
+    public final int row;
+    public final int col;
+
+    private final int state;
+
+    Cell(int row, int col, int state) {
+        this.row = row;
+        this.col = col;
+        this.state = state;
+    }
+
+    public boolean hasMine() { return (state & MINE) != 0; }
+    public boolean isRevealed() { return (state & REVEALED) != 0; }
+    public boolean isFlagged() { return (state & FLAGGED) != 0; }
+    public int getAdjacent() { return state & ADJ_MASK; }
+}
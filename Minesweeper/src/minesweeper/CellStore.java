@@ -0,0 +1,21 @@
+package minesweeper;
+
+/**
+ * Backing storage for a board's packed cell bytes, addressed by r * cols + c.
+ * Implementations decide how (and when) the bytes are actually allocated.
+ */
+abstract class CellStore {
+    abstract byte get(int i);
+    abstract void set(int i, byte value);
+
+    /** Copy that later writes to either side never show through, used for checkpoints */
+    abstract CellStore copy();
+
+    /** Rough heap footprint of the materialised cells */
+    abstract long retainedBytes();
+
+    /** Footprint not already held by base (null for none), for stores that share storage */
+    long retainedBytesBeyond(CellStore base) {
+        return retainedBytes();
+    }
+}
@@ -0,0 +1,158 @@
+package minesweeper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Splits the board into CHUNK x CHUNK tiles that are generated the first time any of
+ * their cells is touched. A chunk's mine layout is a pure function of the seed and its
+ * chunk coordinates, so untouched chunks never need to exist and memory grows only
+ * with the explored area.
+ */
+class ChunkedCellStore extends CellStore {
+    static final int CHUNK = 64;
+    private static final int SHIFT = 6;
+
+    private final int rows;
+    private final int cols;
+    private final int chunksAcross;
+    private final int chunksDown;
+    private final double density;
+    private final long seed;
+    private final Map<Integer, byte[]> chunks;
+
+    // Flood fills walk neighbouring cells, so the last chunk is almost always the next one
+    private int lastKey = -1;
+    private byte[] lastChunk;
+
+    ChunkedCellStore(int rows, int cols, double density, long seed) {
+        this(rows, cols, density, seed, new HashMap<>());
+    }
+
+    private ChunkedCellStore(int rows, int cols, double density, long seed, Map<Integer, byte[]> chunks) {
+        this.rows = rows;
+        this.cols = cols;
+        this.chunksAcross = (cols + CHUNK - 1) >> SHIFT;
+        this.chunksDown = (rows + CHUNK - 1) >> SHIFT;
+        this.density = density;
+        this.seed = seed;
+        this.chunks = chunks;
+    }
+
+    @Override
+    byte get(int i) {
+        int r = i / cols, c = i % cols;
+        return chunk(r, c)[local(r, c)];
+    }
+
+    @Override
+    void set(int i, byte value) {
+        int r = i / cols, c = i % cols;
+        chunk(r, c)[local(r, c)] = value;
+    }
+
+    @Override
+    CellStore copy() {
+        Map<Integer, byte[]> copied = new HashMap<>();
+        for (Map.Entry<Integer, byte[]> e : chunks.entrySet()) copied.put(e.getKey(), e.getValue().clone());
+        return new ChunkedCellStore(rows, cols, density, seed, copied);
+    }
+
+    @Override
+    long retainedBytes() {
+        return 64 + chunks.size() * (64L + CHUNK * CHUNK);
+    }
+
+    int materializedChunks() { return chunks.size(); }
+
+    /** Total mines over every chunk, computed without generating any of them */
+    long totalMines() {
+        long total = 0;
+        for (int cy = 0; cy < chunksDown; cy++)
+            for (int cx = 0; cx < chunksAcross; cx++)
+                total += minesIn(cx, cy);
+        return total;
+    }
+
+    private int width(int cx) { return Math.min(CHUNK, cols - (cx << SHIFT)); }
+    private int height(int cy) { return Math.min(CHUNK, rows - (cy << SHIFT)); }
+
+    private int local(int r, int c) {
+        return (r & (CHUNK - 1)) * width(c >> SHIFT) + (c & (CHUNK - 1));
+    }
+
+    private byte[] chunk(int r, int c) {
+        int key = (r >> SHIFT) * chunksAcross + (c >> SHIFT);
+        if (key == lastKey) return lastChunk;
+        byte[] chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = generate(c >> SHIFT, r >> SHIFT);
+            chunks.put(key, chunk);
+        }
+        lastKey = key;
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private int minesIn(int cx, int cy) {
+        int cells = width(cx) * height(cy);
+        return (int) Math.min(cells, Math.round(density * cells));
+    }
+
+    /** Mine bits only, exactly as the chunk looks before anyone touches it */
+    private byte[] layout(int cx, int cy) {
+        byte[] chunk = new byte[width(cx) * height(cy)];
+        long chunkSeed = seed ^ ((cy * (long) chunksAcross + cx) * 0x9E3779B97F4A7C15L);
+        Board.placeMines(chunk, minesIn(cx, cy), new SplittableRandom(chunkSeed));
+        return chunk;
+    }
+
+    private byte[] generate(int cx, int cy) {
+        byte[] chunk = layout(cx, cy);
+        int w = width(cx), h = height(cy);
+        // Mine map padded by one cell on every side so border counts see the neighbouring chunks
+        int pw = w + 2;
+        boolean[] mine = new boolean[pw * (h + 2)];
+        byte[][] around = new byte[9][];
+        around[4] = chunk;
+        int r0 = cy << SHIFT, c0 = cx << SHIFT;
+        for (int pr = 0; pr < h + 2; pr++) {
+            for (int pc = 0; pc < pw; pc++) {
+                int r = r0 + pr - 1, c = c0 + pc - 1;
+                if (r < 0 || r >= rows || c < 0 || c >= cols) continue;
+                mine[pr * pw + pc] = mineAt(r, c, cx, cy, around);
+            }
+        }
+        for (int lr = 0; lr < h; lr++) {
+            for (int lc = 0; lc < w; lc++) {
+                int count = 0;
+                for (int dr = 0; dr < 3; dr++) {
+                    int base = (lr + dr) * pw + lc;
+                    if (mine[base]) count++;
+                    if (dr != 1 && mine[base + 1]) count++;
+                    if (mine[base + 2]) count++;
+                }
+                chunk[lr * w + lc] |= (byte) count;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Existing chunks are authoritative (first-click relocation may have moved mines in them);
+     * anything else is the untouched layout, which is still exact because every mine move
+     * materialises all chunks whose counts it changes.
+     */
+    private boolean mineAt(int r, int c, int cx, int cy, byte[][] around) {
+        int ncx = c >> SHIFT, ncy = r >> SHIFT;
+        int slot = (ncy - cy + 1) * 3 + (ncx - cx + 1);
+        byte[] chunk = around[slot];
+        if (chunk == null) {
+            chunk = chunks.get(ncy * chunksAcross + ncx);
+            if (chunk == null) chunk = layout(ncx, ncy);
+            around[slot] = chunk;
+        }
+        return (chunk[local(r, c)] & Cell.MINE) != 0;
+    }
+}
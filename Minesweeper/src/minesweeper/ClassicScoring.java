@@ -0,0 +1,35 @@
+package minesweeper;
+
+/** The original rules: +10 per safe cell, -20 for a mine, +100 for winning, +/-5 per flag. */
+public class ClassicScoring implements ScoringPolicy {
+    static final int ID = 0;
+
+    public static final int SAFE_REVEAL = 10;
+    public static final int MINE_REVEAL = -20;
+    public static final int WIN_BONUS = 100;
+    public static final int CORRECT_FLAG = 5;
+    public static final int WRONG_FLAG = -5;
+
+    protected int points;
+
+    @Override
+    public void begin(Board board) {
+        points = 0;
+    }
+
+    @Override
+    public void revealed(int index, boolean mine) {
+        points += mine ? MINE_REVEAL : SAFE_REVEAL;
+    }
+
+    @Override
+    public void flagged(int index, boolean mine) {
+        points += mine ? CORRECT_FLAG : WRONG_FLAG;
+    }
+
+    @Override
+    public int end(GameStatus prevStatus, GameStatus nextStatus) {
+        if (nextStatus == GameStatus.WON && prevStatus != GameStatus.WON) points += WIN_BONUS;
+        return points;
+    }
+}
@@ -0,0 +1,6 @@
+package minesweeper;
+
+public interface Command {
+    DeltaBatch apply(Board board, Game game);
+    void undo(Board board, Game game, DeltaBatch deltas);
+}
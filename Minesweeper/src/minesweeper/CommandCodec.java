@@ -0,0 +1,38 @@
+package minesweeper;
+
+/** Stable one-byte tags for the built-in commands, shared by save files and the journal */
+final class CommandCodec {
+    static final byte REVEAL = 1;
+    static final byte FLAG = 2;
+    static final byte AUTO_SOLVE = 3;
+
+    private CommandCodec() {}
+
+    static byte kind(Command cmd) {
+        if (cmd instanceof RevealCommand) return REVEAL;
+        if (cmd instanceof FlagCommand) return FLAG;
+        if (cmd instanceof AutoSolveCommand) return AUTO_SOLVE;
+        throw new IllegalArgumentException("Unsupported command " + cmd.getClass().getName());
+    }
+
+    static int row(Command cmd) {
+        if (cmd instanceof RevealCommand) return ((RevealCommand) cmd).row();
+        if (cmd instanceof FlagCommand) return ((FlagCommand) cmd).row();
+        return -1;
+    }
+
+    static int col(Command cmd) {
+        if (cmd instanceof RevealCommand) return ((RevealCommand) cmd).col();
+        if (cmd instanceof FlagCommand) return ((FlagCommand) cmd).col();
+        return -1;
+    }
+
+    static Command decode(byte kind, int r, int c) {
+        switch (kind) {
+            case REVEAL: return new RevealCommand(r, c);
+            case FLAG: return new FlagCommand(r, c);
+            case AUTO_SOLVE: return new AutoSolveCommand();
+            default: throw new IllegalArgumentException("Invalid command kind " + kind);
+        }
+    }
+}
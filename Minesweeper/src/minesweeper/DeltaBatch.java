@@ -0,0 +1,171 @@
+package minesweeper;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Everything one move changed on a board, stored as run-length encoded cell indices
+ * (r * cols + c) plus a single status transition. A cell can only ever move from hidden
+ * to revealed, from unflagged to flagged or back, so three index sets describe any move.
+ */
+public class DeltaBatch {
+    private static final int[] NO_RUNS = new int[0];
+
+    public static final DeltaBatch EMPTY = new DeltaBatch(NO_RUNS, NO_RUNS, NO_RUNS,
+            0, 0, 0, GameStatus.RUNNING, GameStatus.RUNNING);
+
+    // Each array holds (start, length) pairs in ascending index order
+    private final int[] revealed;
+    private final int[] flagged;
+    private final int[] unflagged;
+    private final int revealedCount;
+    private final int flaggedCount;
+    private final int unflaggedCount;
+
+    public final GameStatus prevStatus;
+    public final GameStatus nextStatus;
+
+    private DeltaBatch(int[] revealed, int[] flagged, int[] unflagged,
+                       int revealedCount, int flaggedCount, int unflaggedCount,
+                       GameStatus prevStatus, GameStatus nextStatus) {
+        this.revealed = revealed;
+        this.flagged = flagged;
+        this.unflagged = unflagged;
+        this.revealedCount = revealedCount;
+        this.flaggedCount = flaggedCount;
+        this.unflaggedCount = unflaggedCount;
+        this.prevStatus = prevStatus;
+        this.nextStatus = nextStatus;
+    }
+
+    public boolean isEmpty() { return size() == 0; }
+    public int size() { return revealedCount + flaggedCount + unflaggedCount; }
+    public int revealedCount() { return revealedCount; }
+    public int flaggedCount() { return flaggedCount; }
+    public int unflaggedCount() { return unflaggedCount; }
+
+    public void forEachRevealed(IntConsumer action) { forEach(revealed, action); }
+    public void forEachFlagged(IntConsumer action) { forEach(flagged, action); }
+    public void forEachUnflagged(IntConsumer action) { forEach(unflagged, action); }
+
+    /** Every cell index touched by this batch, in no particular order */
+    public void forEachCell(IntConsumer action) {
+        forEach(revealed, action);
+        forEach(flagged, action);
+        forEach(unflagged, action);
+    }
+
+    private static void forEach(int[] runs, IntConsumer action) {
+        for (int i = 0; i < runs.length; i += 2) {
+            for (int idx = runs[i], end = idx + runs[i + 1]; idx < end; idx++) {
+                action.accept(idx);
+            }
+        }
+    }
+
+    // Raw (start, length) runs for serialisation; callers must not modify them
+    int[] revealedRuns() { return revealed; }
+    int[] flaggedRuns() { return flagged; }
+    int[] unflaggedRuns() { return unflagged; }
+
+    /** Rebuilds a batch from runs previously taken from the accessors above */
+    static DeltaBatch fromRuns(int[] revealed, int[] flagged, int[] unflagged,
+                               GameStatus prevStatus, GameStatus nextStatus) {
+        if (revealed.length + flagged.length + unflagged.length == 0 && prevStatus == nextStatus) return EMPTY;
+        return new DeltaBatch(revealed, flagged, unflagged,
+                runLength(revealed), runLength(flagged), runLength(unflagged), prevStatus, nextStatus);
+    }
+
+    private static int runLength(int[] runs) {
+        int n = 0;
+        for (int i = 1; i < runs.length; i += 2) n += runs[i];
+        return n;
+    }
+
+    /** Rough heap footprint, used by History to keep the undo stack within budget */
+    public long retainedBytes() {
+        return 48 + arrayBytes(revealed) + arrayBytes(flagged) + arrayBytes(unflagged);
+    }
+
+    private static long arrayBytes(int[] a) {
+        return a.length == 0 ? 0 : 16 + 4L * a.length;
+    }
+
+    /**
+     * Collects cell indices for one move. Boards keep a single builder and reuse its
+     * buffers, so recording a move allocates only the final encoded runs.
+     */
+    static class Builder {
+        private int[] revealed = new int[64];
+        private int[] flagged = new int[8];
+        private int[] unflagged = new int[8];
+        private int revealedCount, flaggedCount, unflaggedCount;
+
+        Builder clear() {
+            revealedCount = flaggedCount = unflaggedCount = 0;
+            return this;
+        }
+
+        void revealed(int idx) {
+            if (revealedCount == revealed.length) revealed = Arrays.copyOf(revealed, revealedCount * 2);
+            revealed[revealedCount++] = idx;
+        }
+
+        int revealedCount() { return revealedCount; }
+
+        void revealedAll(int[] idx) {
+            if (revealedCount + idx.length > revealed.length) {
+                revealed = Arrays.copyOf(revealed, Math.max(revealedCount + idx.length, revealedCount * 2));
+            }
+            System.arraycopy(idx, 0, revealed, revealedCount, idx.length);
+            revealedCount += idx.length;
+        }
+
+        /** Sorts the revealed cells recorded since mark in place */
+        void sortRevealedFrom(int mark) {
+            Arrays.sort(revealed, mark, revealedCount);
+        }
+
+        void flagged(int idx) {
+            if (flaggedCount == flagged.length) flagged = Arrays.copyOf(flagged, flaggedCount * 2);
+            flagged[flaggedCount++] = idx;
+        }
+
+        void unflagged(int idx) {
+            if (unflaggedCount == unflagged.length) unflagged = Arrays.copyOf(unflagged, unflaggedCount * 2);
+            unflagged[unflaggedCount++] = idx;
+        }
+
+        DeltaBatch build(GameStatus prevStatus, GameStatus nextStatus) {
+            if (revealedCount + flaggedCount + unflaggedCount == 0 && prevStatus == nextStatus) return EMPTY;
+            return new DeltaBatch(
+                    encode(revealed, revealedCount), encode(flagged, flaggedCount), encode(unflagged, unflaggedCount),
+                    revealedCount, flaggedCount, unflaggedCount, prevStatus, nextStatus);
+        }
+
+        private static int[] encode(int[] idx, int n) {
+            if (n == 0) return NO_RUNS;
+            Arrays.sort(idx, 0, n);
+            int runs = 1;
+            for (int i = 1; i < n; i++) {
+                if (idx[i] != idx[i - 1] + 1) runs++;
+            }
+            int[] out = new int[runs * 2];
+            int o = 0;
+            out[0] = idx[0];
+            int len = 1;
+            for (int i = 1; i < n; i++) {
+                if (idx[i] == idx[i - 1] + 1) {
+                    len++;
+                } else {
+                    out[o + 1] = len;
+                    o += 2;
+                    out[o] = idx[i];
+                    len = 1;
+                }
+            }
+            out[o + 1] = len;
+            return out;
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package minesweeper;
+
 public enum Difficulty {
     EASY(9, 9, 10),
     NORMAL(15, 15, 40),
@@ -0,0 +1,101 @@
+package minesweeper;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Classic scoring plus a win bonus scaled by click efficiency: the board's 3BV (the fewest
+ * clicks that can clear it) divided by the reveal clicks actually used. A perfect game
+ * doubles the classic win bonus.
+ *
+ * Clicks are counted from the board's change events, which the board delivers because
+ * the policy is also a BoardListener: undoing a reveal takes its click back and redoing
+ * it counts it again.
+ */
+public class EfficiencyScoring extends ClassicScoring implements BoardListener {
+    static final int ID = 2;
+
+    private Board board;
+    private boolean revealedAny;
+    private int clicks;
+
+    @Override
+    public int id() { return ID; }
+
+    @Override
+    public void begin(Board board) {
+        super.begin(board);
+        this.board = board;
+        revealedAny = false;
+    }
+
+    @Override
+    public void revealed(int index, boolean mine) {
+        super.revealed(index, mine);
+        revealedAny = true;
+    }
+
+    @Override
+    public int end(GameStatus prevStatus, GameStatus nextStatus) {
+        int total = super.end(prevStatus, nextStatus);
+        if (nextStatus == GameStatus.WON && prevStatus != GameStatus.WON) {
+            // This move's batch is published, and counted, after it is scored
+            int used = clicks + (revealedAny ? 1 : 0);
+            total += (int) ((long) WIN_BONUS * threeBV(board) / Math.max(1, used));
+        }
+        return total;
+    }
+
+    @Override
+    public void boardChanged(DeltaBatch batch, boolean reverted) {
+        if (batch.revealedCount() > 0) clicks += reverted ? -1 : 1;
+    }
+
+    @Override
+    public long state() { return clicks; }
+
+    @Override
+    public void restore(long state) { clicks = (int) state; }
+
+    public int clicks() { return clicks; }
+
+    /**
+     * Bechtel's Board Benchmark Value: one click per zero region plus one per numbered
+     * safe cell that no zero region uncovers. Scans the whole board once.
+     */
+    public static int threeBV(Board board) {
+        int rows = board.rows(), cols = board.cols(), n = rows * cols;
+        BitSet covered = new BitSet(n);
+        int[] stack = new int[64];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (covered.get(i) || !isZero(board.stateAt(i))) continue;
+            count++;
+            covered.set(i);
+            int top = 0;
+            stack[top++] = i;
+            while (top > 0) {
+                int cur = stack[--top];
+                if (!isZero(board.stateAt(cur))) continue;
+                int cr = cur / cols, cc = cur % cols;
+                for (int rr = Math.max(0, cr - 1); rr <= Math.min(rows - 1, cr + 1); rr++) {
+                    for (int nc = Math.max(0, cc - 1); nc <= Math.min(cols - 1, cc + 1); nc++) {
+                        int nb = rr * cols + nc;
+                        if (covered.get(nb)) continue;
+                        covered.set(nb);
+                        if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                        stack[top++] = nb;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (!covered.get(i) && (board.stateAt(i) & Cell.MINE) == 0) count++;
+        }
+        return count;
+    }
+
+    private static boolean isZero(byte state) {
+        return (state & (Cell.MINE | Cell.ADJ_MASK)) == 0;
+    }
+}
@@ -0,0 +1,279 @@
+package minesweeper;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide counters and latency histograms for the engine: History.execute, undo and
+ * redo, Board.reveal and board construction, flood fill sizes, history depth and retained
+ * bytes after each move (across every game in the process), first-click mine relocations
+ * and game outcomes per difficulty.
+ *
+ * Recording is lock-free (LongAdder and AtomicLongArray buckets). Everything is off unless
+ * the JVM starts with -Dminesweeper.metrics=true; call sites test the static final
+ * {@link #ENABLED}, so when it is false the JIT drops them entirely. Values are read
+ * through a JMX MBean ({@link #register}) or appended to a CSV file ({@link #startCsvDump}).
+ */
+public final class EngineMetrics implements DynamicMBean {
+    public static final boolean ENABLED = Boolean.getBoolean("minesweeper.metrics");
+    public static final String OBJECT_NAME = "minesweeper:type=EngineMetrics";
+
+    static final Histogram EXECUTE = new Histogram();
+    static final Histogram UNDO = new Histogram();
+    static final Histogram REDO = new Histogram();
+    static final Histogram REVEAL = new Histogram();
+    static final Histogram BOARD_CREATE = new Histogram();
+    static final Histogram FLOOD_CELLS = new Histogram();
+    static final Histogram UNDO_DEPTH = new Histogram();
+    static final Histogram REDO_DEPTH = new Histogram();
+    static final Histogram HISTORY_BYTES = new Histogram();
+
+    private static final LongAdder RELOCATED_MINES = new LongAdder();
+    private static final LongAdder RELOCATING_CLICKS = new LongAdder();
+    private static final LongAdder[] WINS = adders();
+    private static final LongAdder[] LOSSES = adders();
+
+    private static final EngineMetrics INSTANCE = new EngineMetrics();
+
+    private final Map<String, LongSupplier> attributes = new LinkedHashMap<>();
+
+    private EngineMetrics() {
+        histogram("Execute", EXECUTE, true);
+        histogram("Undo", UNDO, true);
+        histogram("Redo", REDO, true);
+        histogram("Reveal", REVEAL, true);
+        histogram("BoardCreate", BOARD_CREATE, true);
+        histogram("FloodCells", FLOOD_CELLS, false);
+        histogram("UndoDepth", UNDO_DEPTH, false);
+        histogram("RedoDepth", REDO_DEPTH, false);
+        histogram("HistoryRetainedBytes", HISTORY_BYTES, false);
+        attributes.put("FirstClickRelocations", RELOCATING_CLICKS::sum);
+        attributes.put("RelocatedMines", RELOCATED_MINES::sum);
+        for (Difficulty d : Difficulty.values()) {
+            String name = d.name().charAt(0) + d.name().substring(1).toLowerCase();
+            attributes.put(name + "Wins", WINS[d.ordinal()]::sum);
+            attributes.put(name + "Losses", LOSSES[d.ordinal()]::sum);
+        }
+    }
+
+    private void histogram(String name, Histogram h, boolean nanos) {
+        String unit = nanos ? "Micros" : "";
+        long div = nanos ? 1000 : 1;
+        attributes.put(name + "Count", h::count);
+        attributes.put(name + "Mean" + unit, () -> h.mean() / div);
+        attributes.put(name + "P50" + unit, () -> h.percentile(0.5) / div);
+        attributes.put(name + "P99" + unit, () -> h.percentile(0.99) / div);
+        attributes.put(name + "Max" + unit, () -> h.max() / div);
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] a = new LongAdder[Difficulty.values().length];
+        for (int i = 0; i < a.length; i++) a[i] = new LongAdder();
+        return a;
+    }
+
+    // Recording; callers check ENABLED first
+
+    /** One sample per change from each History, so many games at once read as a distribution */
+    static void historyChanged(History h) {
+        UNDO_DEPTH.record(h.position() - h.firstMove());
+        REDO_DEPTH.record(h.lastMove() - h.position());
+        HISTORY_BYTES.record(h.retainedBytes());
+    }
+
+    static void firstClickRelocated(int mines) {
+        RELOCATING_CLICKS.increment();
+        RELOCATED_MINES.add(mines);
+    }
+
+    static void gameEnded(Difficulty difficulty, GameStatus status) {
+        (status == GameStatus.WON ? WINS : LOSSES)[difficulty.ordinal()].increment();
+    }
+
+    /** Current value of every metric, in a stable order */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        INSTANCE.attributes.forEach((k, v) -> values.put(k, v.getAsLong()));
+        return values;
+    }
+
+    /** Registers the MBean with the platform MBean server; a second call is a no-op */
+    public static void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) server.registerMBean(INSTANCE, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics", e);
+        }
+    }
+
+    /** ~/.minesweeper/metrics.csv */
+    public static Path defaultCsvFile() {
+        return Paths.get(System.getProperty("user.home"), ".minesweeper", "metrics.csv");
+    }
+
+    /**
+     * Appends a row of every metric to file each period, with a header when the file is
+     * new. Runs on a daemon thread until the returned executor is shut down.
+     */
+    public static ScheduledExecutorService startCsvDump(Path file, long periodSeconds) {
+        if (periodSeconds <= 0) throw new IllegalArgumentException("Invalid period");
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleAtFixedRate(() -> {
+            try {
+                appendCsv(file);
+            } catch (IOException e) {
+                // Stop dumping; the MBean keeps working
+                throw new UncheckedIOException(e);
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return timer;
+    }
+
+    static void appendCsv(Path file) throws IOException {
+        Map<String, Long> values = snapshot();
+        StringBuilder sb = new StringBuilder();
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        if (!Files.exists(file)) sb.append("timeMillis,").append(String.join(",", values.keySet())).append('\n');
+        sb.append(System.currentTimeMillis());
+        for (long v : values.values()) sb.append(',').append(v);
+        sb.append('\n');
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        LongSupplier s = attributes.get(attribute);
+        if (s == null) throw new AttributeNotFoundException(attribute);
+        return s.getAsLong();
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        AttributeList list = new AttributeList();
+        for (String n : names) {
+            LongSupplier s = attributes.get(n);
+            if (s != null) list.add(new Attribute(n, s.getAsLong()));
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        // The bean has no operations; JMX clients expect a missing one reported this way
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        MBeanAttributeInfo[] infos = attributes.keySet().stream()
+                .map(n -> new MBeanAttributeInfo(n, "long", n, true, false, false))
+                .toArray(MBeanAttributeInfo[]::new);
+        return new MBeanInfo(getClass().getName(), "Minesweeper engine metrics", infos, null, null, null);
+    }
+
+    /**
+     * Log-linear histogram of non-negative longs: 8 buckets per power of two, so any
+     * reported percentile is within 12.5% of the true value.
+     */
+    static final class Histogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB = 1 << SUB_BITS;
+        private final AtomicLongArray buckets = new AtomicLongArray((64 - SUB_BITS + 1) * SUB);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long value) {
+            if (value < 0) value = 0;
+            buckets.incrementAndGet(bucket(value));
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        /** Records the time since startNanos, a System.nanoTime() value */
+        void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        static int bucket(long v) {
+            if (v < SUB) return (int) v;
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+            return (exp - SUB_BITS + 1) * SUB + sub;
+        }
+
+        /** Smallest value that falls in bucket b */
+        static long lowerBound(int b) {
+            if (b < SUB) return b;
+            int exp = b / SUB + SUB_BITS - 1;
+            return (long) (SUB + b % SUB) << (exp - SUB_BITS);
+        }
+
+        long count() { return count.sum(); }
+
+        long mean() {
+            long n = count.sum();
+            return n == 0 ? 0 : sum.sum() / n;
+        }
+
+        /** Lower bound of the bucket holding quantile q in [0, 1] */
+        long percentile(double q) {
+            long n = count.sum();
+            if (n == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * n));
+            long seen = 0;
+            for (int b = 0; b < buckets.length(); b++) {
+                seen += buckets.get(b);
+                if (seen >= rank) return lowerBound(b);
+            }
+            return max();
+        }
+
+        /** Largest value recorded, exactly */
+        long max() { return max.get(); }
+    }
+}
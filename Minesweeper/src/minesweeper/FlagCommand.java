@@ -1,4 +1,4 @@
-import java.util.List;
+package minesweeper;
 
 public class FlagCommand implements Command {
     private final int r;
@@ -9,11 +9,14 @@ public class FlagCommand implements Command {
         this.c = c;
     }
 
+    int row() { return r; }
+    int col() { return c; }
+
 
     @Override
-    public List<CellDelta> apply(Board board, Game game) {
-        List<CellDelta> deltas = board.toggleFlag(r, c);
-        int deltaScore = PointCalculator.calculateFlagPoints(board, r, c, deltas);
+    public DeltaBatch apply(Board board, Game game) {
+        DeltaBatch deltas = board.toggleFlag(r, c);
+        int deltaScore = board.lastMovePoints();
         game.addScore(deltaScore);
         game.setLastDeltaScore(deltaScore);
         return deltas;
@@ -21,10 +24,8 @@ public class FlagCommand implements Command {
 
 
     @Override
-    public void undo(Board board, Game game, List<CellDelta> deltas) {
-        for (int i = deltas.size() - 1; i >= 0; i--) {
-            board.revertDelta(deltas.get(i));
-        }
+    public void undo(Board board, Game game, DeltaBatch deltas) {
+        board.revertDelta(deltas);
         game.addScore(-game.getLastDeltaScore());
         game.setLastDeltaScore(0);
     }
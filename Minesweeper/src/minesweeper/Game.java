@@ -0,0 +1,124 @@
+package minesweeper;
+
+import java.util.function.Function;
+
+public class Game {
+    private Board board;
+    private final History history;
+    private int score;
+    private int lastDeltaScore;
+    // Read by the UI while the engine thread may be resetting the game
+    private volatile Difficulty difficulty;
+    private String playerName;
+    private Solver solver;
+    private final boolean noGuess;
+    private final Function<Difficulty, ScoringPolicy> scoring;
+    private long startedMillis = System.currentTimeMillis();
+
+    public Game(Difficulty difficulty, String playerName) {
+        this(difficulty, playerName, false);
+    }
+
+    /**
+     * With noGuess, boards start with their opening revealed. They come from the shared
+     * BoardPool, or are generated on the spot when it has none ready.
+     */
+    public Game(Difficulty difficulty, String playerName, boolean noGuess) {
+        this(difficulty, playerName, noGuess, d -> new ClassicScoring());
+    }
+
+    /** scoring makes a fresh policy for each board, e.g. TimeBonusScoring::forDifficulty */
+    public Game(Difficulty difficulty, String playerName, boolean noGuess,
+                Function<Difficulty, ScoringPolicy> scoring) {
+        this.noGuess = noGuess;
+        this.scoring = scoring;
+        this.difficulty = difficulty;
+        this.board = newBoard(difficulty);
+        this.history = new History();
+        this.score = 0;
+        this.lastDeltaScore = 0;
+        this.playerName = playerName;
+    }
+
+    /**
+     * A game read back from a save file or journal; the board and history are used as they
+     * are and scoring makes the policy, see ScoringPolicy.forId
+     */
+    Game(Difficulty difficulty, String playerName, boolean noGuess, Board board, History history, int score,
+         Function<Difficulty, ScoringPolicy> scoring) {
+        this.noGuess = noGuess;
+        this.scoring = scoring;
+        this.difficulty = difficulty;
+        this.board = board;
+        this.history = history;
+        this.score = score;
+        this.playerName = playerName;
+        board.setScoring(scoring.apply(difficulty));
+    }
+
+    public Board getBoard() { return board; }
+    public History getHistory() { return history; }
+    public int getScore() { return score; }
+    public void addScore(int points) { score += points; }
+    public int getLastDeltaScore() { return lastDeltaScore; }
+    public void setLastDeltaScore(int s) { lastDeltaScore = s; }
+    public Difficulty getDifficulty() { return difficulty; }
+    public String getPlayerName() { return playerName; }
+    public boolean isNoGuess() { return noGuess; }
+    /** When this board was dealt, or when the game was loaded */
+    public long getStartedMillis() { return startedMillis; }
+
+    private Board newBoard(Difficulty difficulty) {
+        Board board;
+        if (noGuess) {
+            Board pooled = BoardPool.shared().poll(difficulty);
+            // A drained pool means waiting for generation; a plain board could need guessing
+            board = pooled != null ? pooled : NoGuessGenerator.generate(difficulty);
+            NoGuessGenerator.open(board);
+        } else {
+            board = Board.fromDifficulty(difficulty);
+        }
+        // Set after the no-guess opening, which is free
+        board.setScoring(scoring.apply(difficulty));
+        return board;
+    }
+
+    /** Starts keeping a Solver in sync with this game's moves; cheap if done before the first move */
+    public Solver attachSolver() {
+        if (solver == null) {
+            solver = new Solver(board);
+            // Moves trimmed from the history still left cells open, so test the position
+            if (noGuess || history.position() > 0) solver.rebuild();
+            board.addListener(solver);
+        }
+        return solver;
+    }
+
+    public Solver getSolver() { return solver; }
+
+    /**
+     * Starts over on a new board with an empty history. A board of the same size and
+     * mine count is dealt again in place, keeping its arrays, listeners and solver;
+     * no-guess games always take a fresh board from the pool.
+     */
+    public void reset(Difficulty newDifficulty) {
+        this.difficulty = newDifficulty;
+        history.clear();
+        if (!noGuess && !board.isChunked() && board.rows() == newDifficulty.rows()
+                && board.cols() == newDifficulty.cols() && board.mines() == newDifficulty.mines()) {
+            board.setScoring(scoring.apply(newDifficulty));
+            // The solver rebuilds itself from boardRestored
+            board.reset();
+        } else {
+            this.board = newBoard(newDifficulty);
+            if (solver != null) {
+                solver = new Solver(board);
+                if (noGuess) solver.rebuild();
+                board.addListener(solver);
+            }
+        }
+        this.score = 0;
+        this.lastDeltaScore = 0;
+        this.startedMillis = System.currentTimeMillis();
+    }
+}
\ No newline at end of file
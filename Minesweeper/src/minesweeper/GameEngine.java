@@ -0,0 +1,116 @@
+package minesweeper;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Single writer for a game: commands, undo and redo are queued by any thread (normally
+ * the EDT) and applied in order on the engine's own thread, so a huge reveal never blocks
+ * the caller. The board's listeners, the observer and the error handler run on the engine
+ * thread; anything they hand to Swing has to go through invokeLater.
+ */
+public class GameEngine implements AutoCloseable {
+    /** Told on the engine thread once the queue drains, so a burst of requests is one update */
+    public interface Observer {
+        void updated(Game game);
+    }
+
+    private static final Runnable STOP = () -> {};
+
+    private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+    private final Observer observer;
+    private final Consumer<RuntimeException> onError;
+    private final Thread worker;
+    // Only read and written on the engine thread
+    private Game game;
+    private volatile RuntimeException lastError;
+
+    /** Failures are printed to standard error */
+    public GameEngine(Game game, Observer observer) {
+        this(game, observer, Throwable::printStackTrace);
+    }
+
+    /**
+     * onError is told about every request (or observer call) that throws. The engine
+     * keeps running, and the observer is still told once the queue drains, since a
+     * request may have changed the game before it failed.
+     */
+    public GameEngine(Game game, Observer observer, Consumer<RuntimeException> onError) {
+        this.game = game;
+        this.observer = observer;
+        this.onError = onError;
+        this.worker = new Thread(this::work, "game-engine");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void execute(Command cmd) {
+        submit(g -> g.getHistory().execute(g.getBoard(), g, cmd));
+    }
+
+    public void undo() {
+        submit(g -> g.getHistory().undo(g.getBoard(), g));
+    }
+
+    public void redo() {
+        submit(g -> g.getHistory().redo(g.getBoard(), g));
+    }
+
+    /** Requests queued after this one go to next */
+    public void switchGame(Game next) {
+        queue.add(() -> game = next);
+    }
+
+    /** Runs task on the engine thread against the current game, e.g. to save it between moves */
+    public void submit(Consumer<Game> task) {
+        queue.add(() -> task.accept(game));
+    }
+
+    /** Requests waiting behind the one being applied */
+    public int pending() { return queue.size(); }
+
+    /** The most recent request that threw, or null; the engine keeps running after a failure */
+    public RuntimeException lastError() { return lastError; }
+
+    /** Applies everything already queued, then stops the engine thread */
+    @Override
+    public void close() {
+        if (!worker.isAlive()) return;
+        queue.add(STOP);
+        Threads.joinUninterruptibly(worker);
+    }
+
+    private void work() {
+        while (true) {
+            Runnable request;
+            try {
+                request = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (request == STOP) return;
+            try {
+                request.run();
+            } catch (RuntimeException e) {
+                failed(e);
+            }
+            Runnable next = queue.peek();
+            if (next != null && next != STOP) continue;
+            try {
+                observer.updated(game);
+            } catch (RuntimeException e) {
+                failed(e);
+            }
+        }
+    }
+
+    private void failed(RuntimeException e) {
+        lastError = e;
+        try {
+            onError.accept(e);
+        } catch (RuntimeException ignored) {
+            // A broken handler must not stop the engine
+        }
+    }
+}
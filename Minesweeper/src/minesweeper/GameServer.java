@@ -0,0 +1,310 @@
+package minesweeper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Headless server hosting many independent games over a line protocol on TCP. Every
+ * session owns a Game and a queue of pending requests that is drained by one pool task at
+ * a time, so Board and History are only ever touched by a single writer and need no
+ * locking. Each connection is served by its own thread and may drive any session.
+ *
+ * Requests and replies, one per line:
+ * <pre>
+ * NEW &lt;difficulty&gt; [player]  OK &lt;id&gt; &lt;rows&gt; &lt;cols&gt; &lt;mines&gt;
+ * REVEAL &lt;id&gt; &lt;r&gt; &lt;c&gt;   OK &lt;status&gt; &lt;score&gt; + &lt;revealed&gt; &lt;flagged&gt; &lt;unflagged&gt;
+ * FLAG &lt;id&gt; &lt;r&gt; &lt;c&gt;     same as REVEAL
+ * UNDO &lt;id&gt;              same, with - and the cells that were reverted
+ * REDO &lt;id&gt;              same as REVEAL
+ * STATE &lt;id&gt;             OK &lt;status&gt; &lt;score&gt; &lt;move&gt; &lt;lastMove&gt;
+ * CLOSE &lt;id&gt;             OK
+ * TOP &lt;difficulty&gt; [k]    OK &lt;player&gt;:&lt;score&gt; ... (best first, default 10)
+ * RANK &lt;difficulty&gt; &lt;player&gt;  OK &lt;rank&gt; &lt;of&gt; (rank 0 when the player has no result)
+ * QUIT                   (connection closed)
+ * </pre>
+ * Cell lists are comma separated start:length runs of r * cols + c indices, or - when
+ * empty. Failures reply ERR followed by a message and leave the connection open.
+ * Sessions a connection created are closed when it disconnects. With a Leaderboard that
+ * is not read-only, every game that ends is recorded under its player name
+ * (session-&lt;id&gt; if none was given).
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7391;
+
+    private final ServerSocket server;
+    // One blocking thread per connection, reused once its client disconnects
+    private final ExecutorService connections;
+    // Runs session queues, at most one task per session at a time
+    private final ExecutorService sessionPool;
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Thread acceptor;
+    private final Leaderboard leaderboard;
+    private volatile boolean running = true;
+
+    public GameServer(int port) throws IOException {
+        this(port, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /** leaderboard may be null, in which case results are not kept and TOP and RANK fail */
+    public GameServer(int port, int sessionThreads, Leaderboard leaderboard) throws IOException {
+        if (sessionThreads <= 0) throw new IllegalArgumentException("Invalid thread count");
+        this.leaderboard = leaderboard;
+        this.server = new ServerSocket();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.connections = Executors.newCachedThreadPool(daemonThreads("server-connection"));
+        this.sessionPool = Executors.newFixedThreadPool(sessionThreads, daemonThreads("server-session"));
+        this.acceptor = new Thread(this::acceptLoop, "server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /** The bound port, useful when constructed with port 0 */
+    public int port() { return server.getLocalPort(); }
+
+    public int sessionCount() { return sessions.size(); }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        server.close();
+        connections.shutdownNow();
+        sessionPool.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!running) return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        List<Long> owned = new ArrayList<>();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                if (line.equalsIgnoreCase("QUIT")) break;
+                out.write(handle(line, owned));
+                out.write('\n');
+                // Only flush once the client has nothing more queued, so pipelined requests batch
+                if (!in.ready()) out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away; fall through to cleanup
+        } finally {
+            for (long id : owned) sessions.remove(id);
+        }
+    }
+
+    private String handle(String line, List<Long> owned) {
+        String[] p = line.split("\\s+");
+        try {
+            String op = p[0].toUpperCase();
+            if (op.equals("NEW")) {
+                Difficulty d = Difficulty.valueOf(arg(p, 1).toUpperCase());
+                long id = nextId.getAndIncrement();
+                Session s = new Session(new Game(d, p.length > 2 ? p[2] : "session-" + id));
+                sessions.put(id, s);
+                owned.add(id);
+                Board b = s.game.getBoard();
+                return "OK " + id + " " + b.rows() + " " + b.cols() + " " + b.mines();
+            }
+            if (op.equals("TOP") || op.equals("RANK")) {
+                if (leaderboard == null) return "ERR No leaderboard";
+                Difficulty d = Difficulty.valueOf(arg(p, 1).toUpperCase());
+                if (op.equals("RANK")) return "OK " + leaderboard.rank(d, arg(p, 2)) + " " + leaderboard.size(d);
+                StringBuilder sb = new StringBuilder("OK");
+                for (Leaderboard.Entry e : leaderboard.top(d, p.length > 2 ? Integer.parseInt(p[2]) : 10)) {
+                    sb.append(' ').append(e.player).append(':').append(e.score);
+                }
+                return sb.toString();
+            }
+            long id = Long.parseLong(arg(p, 1));
+            Session s = sessions.get(id);
+            if (s == null) return "ERR Unknown session " + id;
+            switch (op) {
+                case "REVEAL": {
+                    int r = Integer.parseInt(arg(p, 2)), c = Integer.parseInt(arg(p, 3));
+                    return s.call(() -> s.execute(new RevealCommand(r, c)));
+                }
+                case "FLAG": {
+                    int r = Integer.parseInt(arg(p, 2)), c = Integer.parseInt(arg(p, 3));
+                    return s.call(() -> s.execute(new FlagCommand(r, c)));
+                }
+                case "UNDO":
+                    return s.call(() -> s.reply(s.game.getHistory().undo(s.game.getBoard(), s.game), false));
+                case "REDO":
+                    return s.call(() -> s.reply(s.game.getHistory().redo(s.game.getBoard(), s.game), true));
+                case "STATE":
+                    return s.call(s::state);
+                case "CLOSE":
+                    sessions.remove(id);
+                    owned.remove(id);
+                    return "OK";
+                default:
+                    return "ERR Unknown command " + p[0];
+            }
+        } catch (RuntimeException e) {
+            // A bad request fails on its own; the connection stays open for the next one
+            return error(e);
+        }
+    }
+
+    private static String error(Throwable e) {
+        return "ERR " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+    }
+
+    private static String arg(String[] p, int i) {
+        if (i >= p.length) throw new IllegalArgumentException("Missing argument");
+        return p[i];
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** One game plus its request queue; the queue is drained by at most one task at a time */
+    private class Session {
+        final Game game;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private boolean recorded;
+
+        Session(Game game) {
+            this.game = game;
+        }
+
+        String call(Supplier<String> request) {
+            CompletableFuture<String> reply = new CompletableFuture<>();
+            queue.add(() -> {
+                try {
+                    reply.complete(request.get());
+                } catch (RuntimeException e) {
+                    reply.completeExceptionally(e);
+                }
+            });
+            schedule();
+            try {
+                return reply.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "ERR Interrupted";
+            } catch (ExecutionException e) {
+                return error(e.getCause());
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) sessionPool.execute(this::drain);
+        }
+
+        private void drain() {
+            Runnable next;
+            while ((next = queue.poll()) != null) next.run();
+            scheduled.set(false);
+            // A request may have arrived between the last poll and the flag reset
+            if (!queue.isEmpty()) schedule();
+        }
+
+        String execute(Command cmd) {
+            DeltaBatch batch = game.getHistory().execute(game.getBoard(), game, cmd);
+            // Only the first finish counts, not one reached again after undoing the last move
+            if (leaderboard != null && !leaderboard.isReadOnly() && !recorded
+                    && batch.nextStatus != GameStatus.RUNNING) {
+                recorded = true;
+                try {
+                    leaderboard.record(game);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return reply(batch, true);
+        }
+
+        String reply(DeltaBatch batch, boolean applied) {
+            StringBuilder sb = new StringBuilder(64);
+            sb.append("OK ").append(game.getBoard().status()).append(' ').append(game.getScore())
+                    .append(applied ? " + " : " - ");
+            appendRuns(sb, batch.revealedRuns());
+            sb.append(' ');
+            appendRuns(sb, batch.flaggedRuns());
+            sb.append(' ');
+            appendRuns(sb, batch.unflaggedRuns());
+            return sb.toString();
+        }
+
+        String state() {
+            History h = game.getHistory();
+            return "OK " + game.getBoard().status() + " " + game.getScore() + " " + h.position() + " " + h.lastMove();
+        }
+    }
+
+    private static void appendRuns(StringBuilder sb, int[] runs) {
+        if (runs.length == 0) {
+            sb.append('-');
+            return;
+        }
+        for (int i = 0; i < runs.length; i += 2) {
+            if (i > 0) sb.append(',');
+            sb.append(runs[i]).append(':').append(runs[i + 1]);
+        }
+    }
+
+    /** Usage: java GameServer [port] [leaderboard file] */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Path file = args.length > 1 ? Paths.get(args[1]) : Leaderboard.defaultFile();
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.register();
+            EngineMetrics.startCsvDump(EngineMetrics.defaultCsvFile(), 60);
+        }
+        Leaderboard leaderboard = Leaderboard.open(file);
+        if (leaderboard.isReadOnly()) {
+            System.err.println("Leaderboard " + file + " is in use elsewhere; results will not be recorded");
+        }
+        GameServer server = new GameServer(port, Runtime.getRuntime().availableProcessors(), leaderboard);
+        System.out.println("Minesweeper server listening on localhost:" + server.port());
+        server.acceptor.join();
+    }
+}
@@ -1,3 +1,5 @@
+package minesweeper;
+
 public enum GameStatus {
     RUNNING, WON, LOST
 }
\ No newline at end of file
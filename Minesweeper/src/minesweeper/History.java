@@ -0,0 +1,379 @@
+package minesweeper;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Linear timeline of executed moves with a cursor. Undo steps the cursor back, redo
+ * replays the recorded batch, and seek jumps anywhere via periodic board checkpoints.
+ * Moves are numbered from the start of the game, so move N is the state after N moves.
+ */
+public class History {
+    /** Default cap on the estimated heap held by recorded moves and checkpoints */
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+    /** Default number of moves between board checkpoints */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+
+    // Recorded moves are moves[first, first + count). Slots below sharedEnd may still be
+    // read through a Recorded view, so they are copied rather than written in place.
+    private ExecutedCommand[] moves = new ExecutedCommand[16];
+    private int first;
+    private int count;
+    private int sharedEnd;
+    private final TreeMap<Integer, Checkpoint> checkpoints = new TreeMap<>();
+    private final long budgetBytes;
+    private final int checkpointInterval;
+    private long retainedBytes;
+    // Move number of the first recorded move; earlier moves were collapsed to stay within budget
+    private int base;
+    // Number of moves currently applied, as an absolute move number
+    private int position;
+    private Journal journal;
+    private Consumer<RuntimeException> onJournalFailure;
+
+    public History() {
+        this(DEFAULT_BUDGET_BYTES, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public History(long budgetBytes) {
+        this(budgetBytes, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /** A checkpoint interval of 0 disables checkpoints; seek then steps move by move */
+    public History(long budgetBytes, int checkpointInterval) {
+        if (budgetBytes <= 0) throw new IllegalArgumentException("Invalid budget");
+        if (checkpointInterval < 0) throw new IllegalArgumentException("Invalid checkpoint interval");
+        this.budgetBytes = budgetBytes;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /** Applies cmd and records it; returns what it changed, which may be empty */
+    public DeltaBatch execute(Board board, Game game, Command cmd) {
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        DeltaBatch deltas = cmd.apply(board, game);
+        if (!deltas.isEmpty()) {
+            discardRedo();
+            ExecutedCommand ec = new ExecutedCommand(cmd, deltas, game.getLastDeltaScore());
+            append(ec);
+            retainedBytes += ec.retainedBytes();
+            position++;
+            game.setLastDeltaScore(0);
+            maybeCheckpoint(board, game);
+            trimToBudget();
+        }
+        // Only once the move is recorded, so a failing journal cannot leave it half done.
+        // Even a no-op is journaled: it may still have side effects, e.g. attaching the solver
+        if (journal != null) journal(CommandCodec.kind(cmd), CommandCodec.row(cmd), CommandCodec.col(cmd));
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.EXECUTE.recordSince(start);
+            EngineMetrics.historyChanged(this);
+            if (deltas.prevStatus == GameStatus.RUNNING && deltas.nextStatus != GameStatus.RUNNING) {
+                EngineMetrics.gameEnded(game.getDifficulty(), deltas.nextStatus);
+            }
+        }
+        return deltas;
+    }
+
+    /** Forgets every move and detaches the journal, e.g. when the game is dealt a new board */
+    public void clear() {
+        dropAll();
+        checkpoints.clear();
+        retainedBytes = 0;
+        base = 0;
+        position = 0;
+        journal = null;
+        if (EngineMetrics.ENABLED) EngineMetrics.historyChanged(this);
+    }
+
+    /**
+     * Every executed command, undo, redo and seek from now on is also appended to journal.
+     * If the journal fails, it is detached and the failure printed; the game goes on.
+     */
+    public void setJournal(Journal journal) {
+        setJournal(journal, Throwable::printStackTrace);
+    }
+
+    /**
+     * Like setJournal(journal), but a failure is handed to onFailure, on the thread making
+     * the move, after the journal has been detached.
+     */
+    public void setJournal(Journal journal, Consumer<RuntimeException> onFailure) {
+        this.journal = journal;
+        this.onJournalFailure = onFailure;
+    }
+
+    private void journal(byte kind, int r, int c) {
+        try {
+            journal.append(kind, r, c);
+        } catch (RuntimeException e) {
+            journal = null;
+            onJournalFailure.accept(e);
+        }
+    }
+
+    public boolean canUndo() { return position > base; }
+    public boolean canRedo() { return position < base + count; }
+    public long retainedBytes() { return retainedBytes; }
+
+    /** Current move number */
+    public int position() { return position; }
+    /** Earliest move number still reachable */
+    public int firstMove() { return base; }
+    /** Latest move number reachable by redo */
+    public int lastMove() { return base + count; }
+
+    /** Returns the batch that was reverted, or DeltaBatch.EMPTY */
+    public DeltaBatch undo(Board board, Game game) {
+        if (!canUndo()) return DeltaBatch.EMPTY;
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        DeltaBatch deltas = stepBack(board, game);
+        if (journal != null) journal(Journal.UNDO, 0, 0);
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.UNDO.recordSince(start);
+            EngineMetrics.historyChanged(this);
+        }
+        return deltas;
+    }
+
+    /** Returns the batch that was replayed, or DeltaBatch.EMPTY */
+    public DeltaBatch redo(Board board, Game game) {
+        if (!canRedo()) return DeltaBatch.EMPTY;
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        DeltaBatch deltas = stepForward(board, game);
+        if (journal != null) journal(Journal.REDO, 0, 0);
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.REDO.recordSince(start);
+            EngineMetrics.historyChanged(this);
+        }
+        return deltas;
+    }
+
+    /**
+     * Moves the cursor to moveIndex. The board is restored from whichever checkpoint (or the
+     * current position) is closest. Checkpoints sit every checkpoint interval, just after the
+     * first reachable move and on the baseline left by trimming, so about half an interval
+     * of batches is replayed at most. Without checkpoints (an interval of 0, or a board where
+     * each would take over a quarter of the budget) every batch in between is replayed.
+     */
+    public void seek(Board board, Game game, int moveIndex) {
+        if (moveIndex < firstMove() || moveIndex > lastMove()) {
+            throw new IndexOutOfBoundsException("Move " + moveIndex + " outside " + firstMove() + ".." + lastMove());
+        }
+        boolean moved = moveIndex != position;
+        Checkpoint nearest = nearestCheckpoint(moveIndex);
+        if (nearest != null && Math.abs(nearest.move - moveIndex) < Math.abs(position - moveIndex)) {
+            board.restore(nearest.board);
+            game.addScore(nearest.score - game.getScore());
+            position = nearest.move;
+        }
+        while (position < moveIndex) stepForward(board, game);
+        while (position > moveIndex) stepBack(board, game);
+        if (journal != null && moved) journal(Journal.SEEK, moveIndex, 0);
+    }
+
+    /**
+     * Read-only view of the timeline as it is now, for save files. Taking one is O(1) and
+     * it may be read on any thread; later changes copy the move list instead of writing it.
+     */
+    Recorded recorded() {
+        sharedEnd = Math.max(sharedEnd, first + count);
+        return new Recorded(moves, first, count, base, position);
+    }
+
+    /** Moves firstMove + i of a timeline, see {@link #recorded()} */
+    static final class Recorded {
+        private final ExecutedCommand[] moves;
+        private final int first;
+        private final int count;
+        final int base;
+        final int position;
+
+        private Recorded(ExecutedCommand[] moves, int first, int count, int base, int position) {
+            this.moves = moves;
+            this.first = first;
+            this.count = count;
+            this.base = base;
+            this.position = position;
+        }
+
+        int size() { return count; }
+        Command command(int i) { return moves[first + i].command; }
+        DeltaBatch batch(int i) { return moves[first + i].deltas; }
+        int score(int i) { return moves[first + i].scoreDelta; }
+    }
+
+    /**
+     * Replaces the timeline with moves read back from a save file, without touching any
+     * board: the caller's board must already be in the state after move position.
+     */
+    void load(int base, int position, Command[] commands, DeltaBatch[] batches, int[] scores) {
+        if (position < base || position > base + commands.length) throw new IllegalArgumentException("Invalid position");
+        dropAll();
+        checkpoints.clear();
+        retainedBytes = 0;
+        for (int i = 0; i < commands.length; i++) {
+            ExecutedCommand ec = new ExecutedCommand(commands[i], batches[i], scores[i]);
+            append(ec);
+            retainedBytes += ec.retainedBytes();
+        }
+        this.base = base;
+        this.position = position;
+    }
+
+    private DeltaBatch stepBack(Board board, Game game) {
+        ExecutedCommand ec = moves[first + position - 1 - base];
+        game.setLastDeltaScore(ec.scoreDelta);
+        ec.command.undo(board, game, ec.deltas);
+        position--;
+        return ec.deltas;
+    }
+
+    private DeltaBatch stepForward(Board board, Game game) {
+        // Replay the recorded outcome instead of re-running the command
+        ExecutedCommand ec = moves[first + position - base];
+        board.applyDelta(ec.deltas);
+        game.addScore(ec.scoreDelta);
+        position++;
+        return ec.deltas;
+    }
+
+    private Checkpoint nearestCheckpoint(int move) {
+        Map.Entry<Integer, Checkpoint> below = checkpoints.floorEntry(move);
+        Map.Entry<Integer, Checkpoint> above = checkpoints.ceilingEntry(move);
+        if (below == null) return above == null ? null : above.getValue();
+        if (above == null) return below.getValue();
+        return move - below.getKey() <= above.getKey() - move ? below.getValue() : above.getValue();
+    }
+
+    private void maybeCheckpoint(Board board, Game game) {
+        if (checkpointInterval == 0) return;
+        // The state before the first move is gone once it is made, so the state after it
+        // stands in for the baseline
+        if (position != base + 1 && position % checkpointInterval != 0) return;
+        // Boards too big to copy within the budget rely on stepping alone. A tiled board
+        // only copies the tiles changed since the checkpoint before
+        Map.Entry<Integer, Checkpoint> prev = checkpoints.lowerEntry(position);
+        if (board.stateBytesBeyond(prev == null ? null : prev.getValue().board) > budgetBytes / 4) return;
+        Checkpoint cp = new Checkpoint(position, board.snapshot(), game.getScore());
+        checkpoints.put(position, cp);
+        charge(cp);
+    }
+
+    /**
+     * Counts cp at what it holds beyond the checkpoint before it, so tiles shared along
+     * the chain are paid for once, by the oldest checkpoint holding them
+     */
+    private void charge(Checkpoint cp) {
+        retainedBytes -= cp.charged;
+        Map.Entry<Integer, Checkpoint> prev = checkpoints.lowerEntry(cp.move);
+        cp.charged = cp.board.retainedBytesBeyond(prev == null ? null : prev.getValue().board);
+        retainedBytes += cp.charged;
+    }
+
+    private void removeCheckpoint(int move) {
+        Checkpoint cp = checkpoints.remove(move);
+        if (cp == null) return;
+        retainedBytes -= cp.charged;
+        // The next checkpoint takes over paying for what it shared with the removed one
+        Map.Entry<Integer, Checkpoint> next = checkpoints.higherEntry(move);
+        if (next != null) charge(next.getValue());
+    }
+
+    private void discardRedo() {
+        int keep = position - base;
+        for (int i = first + keep; i < first + count; i++) {
+            retainedBytes -= moves[i].retainedBytes();
+            if (i >= sharedEnd) moves[i] = null;
+        }
+        count = keep;
+        Map<Integer, Checkpoint> stale = checkpoints.tailMap(position, false);
+        for (Checkpoint cp : stale.values()) retainedBytes -= cp.charged;
+        stale.clear();
+    }
+
+    /**
+     * Collapses the oldest moves into the current baseline (they can no longer be undone)
+     * once the timeline exceeds the budget. Trimming goes down to 7/8 of the budget so the
+     * scan is paid once per many moves, not on every move. The most recent move is
+     * always kept.
+     */
+    private void trimToBudget() {
+        if (retainedBytes <= budgetBytes) return;
+        long target = budgetBytes - budgetBytes / 8;
+        int drop = 0;
+        while (retainedBytes > target && position - base - drop > 1) {
+            retainedBytes -= moves[first + drop++].retainedBytes();
+            removeCheckpoint(base + drop - 1);
+        }
+        if (drop == 0) return;
+        // Land the new baseline on a checkpoint so seeking near it stays cheap
+        Integer aligned = checkpoints.ceilingKey(base + drop);
+        if (aligned != null && aligned < position) {
+            while (base + drop < aligned) retainedBytes -= moves[first + drop++].retainedBytes();
+        }
+        for (int i = Math.max(first, sharedEnd); i < first + drop; i++) moves[i] = null;
+        first += drop;
+        count -= drop;
+        base += drop;
+    }
+
+    private void append(ExecutedCommand ec) {
+        int slot = first + count;
+        if (slot == moves.length || slot < sharedEnd) {
+            // Compact into a fresh array; any Recorded view keeps the old one intact
+            int capacity = slot == moves.length ? Math.max(16, count * 2) : moves.length;
+            ExecutedCommand[] fresh = new ExecutedCommand[capacity];
+            System.arraycopy(moves, first, fresh, 0, count);
+            moves = fresh;
+            first = 0;
+            sharedEnd = 0;
+            slot = count;
+        }
+        moves[slot] = ec;
+        count++;
+    }
+
+    private void dropAll() {
+        if (sharedEnd > 0) {
+            moves = new ExecutedCommand[16];
+            sharedEnd = 0;
+        } else {
+            Arrays.fill(moves, first, first + count, null);
+        }
+        first = 0;
+        count = 0;
+    }
+
+    private static class ExecutedCommand {
+        final Command command;
+        final DeltaBatch deltas;
+        final int scoreDelta;
+
+        ExecutedCommand(Command command, DeltaBatch deltas, int scoreDelta) {
+            this.command = command;
+            this.deltas = deltas;
+            this.scoreDelta = scoreDelta;
+        }
+
+        long retainedBytes() {
+            // Entry header and fields, plus a small command object
+            return 32 + 24 + deltas.retainedBytes();
+        }
+    }
+
+    private static class Checkpoint {
+        final int move;
+        final Board.Snapshot board;
+        final int score;
+        // Bytes counted in retainedBytes for this checkpoint, see charge
+        long charged;
+
+        Checkpoint(int move, Board.Snapshot board, int score) {
+            this.move = move;
+            this.board = board;
+            this.score = score;
+        }
+    }
+}
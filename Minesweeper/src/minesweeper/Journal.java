@@ -0,0 +1,286 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only log of every move a History makes: executed commands with their
+ * coordinates plus undo, redo and seek markers. With the header (board parameters, seed
+ * and scoring policy) that is enough to rebuild the game exactly, see {@link #replay}.
+ *
+ * Records are buffered and group-committed: a flusher thread writes and fsyncs whatever
+ * has accumulated every commit interval, so a move costs a buffer write rather than a
+ * disk flush. At most one interval of moves is lost in a crash; {@link #sync} waits for
+ * everything appended so far to be durable.
+ */
+public class Journal implements AutoCloseable {
+    static final int MAGIC = 0x4D534A4C; // "MSJL"
+    static final int VERSION = 2;
+    /** Fixed record size: kind, row, col */
+    static final int RECORD_BYTES = 9;
+
+    // Kinds beyond the CommandCodec tags
+    static final byte UNDO = 10;
+    static final byte REDO = 11;
+    static final byte SEEK = 12;
+
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 5;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long commitIntervalNanos;
+    private final Object lock = new Object();
+    private final Thread flusher;
+    // Moves are appended to active; the flusher swaps it with spare and writes spare out
+    private ByteBuffer active = ByteBuffer.allocate(BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(BUFFER_BYTES);
+    private long appended;
+    private long durable;
+    private int syncWaiters;
+    private boolean closed;
+    private IOException failure;
+
+    private Journal(FileChannel channel, long commitIntervalMillis) {
+        this.channel = channel;
+        this.commitIntervalNanos = commitIntervalMillis * 1_000_000L;
+        this.flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /** ~/.minesweeper/current.msj */
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty("user.home"), ".minesweeper", "current.msj");
+    }
+
+    /** Starts a new journal for a game that has not made any move yet, replacing file */
+    public static Journal create(Path file, Game game) throws IOException {
+        return create(file, game, DEFAULT_COMMIT_INTERVAL_MILLIS);
+    }
+
+    public static Journal create(Path file, Game game, long commitIntervalMillis) throws IOException {
+        if (commitIntervalMillis <= 0) throw new IllegalArgumentException("Invalid commit interval");
+        if (game.getHistory().lastMove() != 0) throw new IllegalArgumentException("Game already has moves");
+        Board board = game.getBoard();
+        if (board.isChunked()) throw new IllegalArgumentException("Chunked boards cannot be journaled");
+
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            byte[] name = game.getPlayerName().getBytes(StandardCharsets.UTF_8);
+            ScoringPolicy scoring = board.getScoring();
+            ByteBuffer header = ByteBuffer.allocate(4 + 4 + 3 + 4 * 3 + 8 + 4 + name.length);
+            header.putInt(MAGIC).putInt(VERSION);
+            header.put((byte) game.getDifficulty().ordinal());
+            header.put((byte) (game.isNoGuess() ? 1 : 0));
+            header.put((byte) (scoring == null ? ClassicScoring.ID : scoring.id()));
+            header.putInt(board.rows()).putInt(board.cols()).putInt(board.mines());
+            header.putLong(board.seed());
+            header.putInt(name.length).put(name);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+            channel.force(false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new Journal(channel, commitIntervalMillis);
+    }
+
+    /**
+     * Appends one record: a CommandCodec kind with its cell, or UNDO, REDO or SEEK (with
+     * the move in r). Throws IllegalStateException once the journal is closed or a write
+     * has failed.
+     */
+    void append(byte kind, int r, int c) {
+        synchronized (lock) {
+            if (closed) throw new IllegalStateException("Journal closed");
+            // Only a flusher that is behind by a whole buffer makes the move thread wait
+            boolean interrupted = false;
+            while (active.remaining() < RECORD_BYTES && failure == null) {
+                lock.notifyAll();
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            if (failure != null) throw new IllegalStateException("Journal write failed", failure);
+            active.put(kind).putInt(r).putInt(c);
+            appended++;
+        }
+    }
+
+    /** Records appended so far, whether or not they are durable yet */
+    public long records() {
+        synchronized (lock) { return appended; }
+    }
+
+    /** Blocks until every record appended before the call is on disk */
+    public void sync() throws IOException, InterruptedException {
+        synchronized (lock) {
+            long target = appended;
+            syncWaiters++;
+            try {
+                lock.notifyAll();
+                while (durable < target && failure == null) lock.wait();
+            } finally {
+                syncWaiters--;
+            }
+            if (failure != null) throw failure;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        Threads.joinUninterruptibly(flusher);
+        channel.close();
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Rebuilds the game a journal describes by re-running every move headless, with no
+     * listeners and no checkpoints. A torn record at the end (a crash mid-write) is ignored.
+     * Scores are recomputed with the scoring policy the game was journaled with (always
+     * ClassicScoring for version 1 journals).
+     */
+    public static Game replay(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            Header h = Header.read(buf);
+            Board board;
+            if (h.noGuess) {
+                board = NoGuessGenerator.candidate(h.rows, h.cols, h.mines, h.seed);
+                NoGuessGenerator.open(board);
+            } else {
+                board = new Board(h.rows, h.cols, h.mines, h.seed);
+            }
+            Game game = new Game(h.difficulty, h.playerName, h.noGuess, board,
+                    new History(History.DEFAULT_BUDGET_BYTES, 0), 0, ScoringPolicy.forId(h.scoringId));
+            History history = game.getHistory();
+            while (buf.remaining() >= RECORD_BYTES) {
+                byte kind = buf.get();
+                int r = buf.getInt(), c = buf.getInt();
+                switch (kind) {
+                    case UNDO: history.undo(board, game); break;
+                    case REDO: history.redo(board, game); break;
+                    case SEEK: history.seek(board, game, r); break;
+                    default: history.execute(board, game, CommandCodec.decode(kind, r, c));
+                }
+            }
+            return game;
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid journal " + file, e);
+        }
+    }
+
+    /** Replays a journal, optionally many times over, and reports the outcome and speed */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: Journal <file> [repeats]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0]);
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long records;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            Header.read(buf);
+            records = buf.remaining() / RECORD_BYTES;
+        }
+        Game game = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < repeats; i++) game = replay(file);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %s, score %d, move %d of %d%n", game.getPlayerName(), game.getBoard().status(),
+                game.getScore(), game.getHistory().position(), game.getHistory().lastMove());
+        System.out.printf("%d records x %d in %.3f s (%.0f records/s)%n", records, repeats, seconds,
+                records * repeats / seconds);
+    }
+
+    private static class Header {
+        Difficulty difficulty;
+        boolean noGuess;
+        int scoringId;
+        int rows, cols, mines;
+        long seed;
+        String playerName;
+
+        static Header read(ByteBuffer buf) throws IOException {
+            if (buf.getInt() != MAGIC) throw new IOException("Not a journal");
+            int version = buf.getInt();
+            if (version < 1 || version > VERSION) throw new IOException("Unsupported journal version " + version);
+            Header h = new Header();
+            h.difficulty = Difficulty.values()[buf.get()];
+            h.noGuess = buf.get() != 0;
+            h.scoringId = version >= 2 ? buf.get() : ClassicScoring.ID;
+            h.rows = buf.getInt();
+            h.cols = buf.getInt();
+            h.mines = buf.getInt();
+            h.seed = buf.getLong();
+            byte[] name = new byte[buf.getInt()];
+            buf.get(name);
+            h.playerName = new String(name, StandardCharsets.UTF_8);
+            return h;
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long batchEnd;
+            synchronized (lock) {
+                try {
+                    while (!closed && appended == durable) lock.wait();
+                    if (closed && appended == durable) return;
+                    // Let the group collect moves for one interval, unless it is full or awaited
+                    long deadline = System.nanoTime() + commitIntervalNanos;
+                    long left;
+                    while (!closed && syncWaiters == 0 && active.remaining() >= RECORD_BYTES
+                            && (left = deadline - System.nanoTime()) > 0) {
+                        lock.wait(Math.max(1, left / 1_000_000L));
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                batch = active;
+                active = spare;
+                spare = batch;
+                batchEnd = appended;
+                lock.notifyAll();
+            }
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) channel.write(batch);
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+            synchronized (lock) {
+                durable = batchEnd;
+                lock.notifyAll();
+            }
+        }
+    }
+}
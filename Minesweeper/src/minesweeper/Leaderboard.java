@@ -0,0 +1,443 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finished games, kept in an append-only file and indexed in memory per Difficulty by an
+ * order-statistic treap (every node knows its subtree size). Inserts, top-K, a player's
+ * rank and score percentiles all take O(log n), plus k for top-K. Any number of threads
+ * may record and query at once: the file append is serialized, each difficulty's index
+ * has its own read-write lock.
+ *
+ * Entries rank by score, then shorter duration, then whoever finished first. On open the
+ * file is read through a memory map, sorted and built into balanced treaps in linear time.
+ *
+ * Only one Leaderboard at a time, in any process, may write a file: open takes an
+ * exclusive lock on it. If another one holds the lock (e.g. the UI and GameServer running
+ * together), the file is opened read-only: its entries can be queried but record fails.
+ *
+ * File layout (big endian): magic, version, then records of length, difficulty, score,
+ * duration millis, moves, finish time millis and the UTF-8 player name.
+ */
+public class Leaderboard implements AutoCloseable {
+    static final int MAGIC = 0x4D534C42; // "MSLB"
+    static final int VERSION = 1;
+    private static final int FIXED_BYTES = 1 + 4 + 8 + 4 + 8;
+
+    /** One finished game */
+    public static final class Entry {
+        public final String player;
+        public final Difficulty difficulty;
+        public final int score;
+        public final long durationMillis;
+        public final int moves;
+        public final long finishedMillis;
+        // Position in the file, the final tie-breaker
+        final long seq;
+
+        Entry(String player, Difficulty difficulty, int score, long durationMillis, int moves,
+              long finishedMillis, long seq) {
+            this.player = player;
+            this.difficulty = difficulty;
+            this.score = score;
+            this.durationMillis = durationMillis;
+            this.moves = moves;
+            this.finishedMillis = finishedMillis;
+            this.seq = seq;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d (%.1f s, %d moves)", player, score, durationMillis / 1000.0, moves);
+        }
+    }
+
+    /** Best first; written out rather than chained, since it runs for every sort step and tree level */
+    static final Comparator<Entry> ORDER = (a, b) -> {
+        if (a.score != b.score) return a.score > b.score ? -1 : 1;
+        if (a.durationMillis != b.durationMillis) return Long.compare(a.durationMillis, b.durationMillis);
+        return Long.compare(a.seq, b.seq);
+    };
+
+    private final FileChannel channel;
+    // Null when the file is read-only
+    private final FileLock lock;
+    private final Index[] indexes = new Index[Difficulty.values().length];
+    // Best entry per player, one map per difficulty, for rank queries by name
+    private final Map<String, Entry>[] best = bestMaps();
+    private long nextSeq;
+
+    private Leaderboard(FileChannel channel, FileLock lock) {
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /** ~/.minesweeper/leaderboard.msl */
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty("user.home"), ".minesweeper", "leaderboard.msl");
+    }
+
+    /**
+     * Opens file, creating it if needed, and indexes every entry in it. The file is
+     * read-only if another Leaderboard already has it open, see isReadOnly.
+     */
+    public static Leaderboard open(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                // A byte far past the data, so readers are not blocked where locks are mandatory
+                lock = channel.tryLock(Long.MAX_VALUE - 1, 1, false);
+            } catch (OverlappingFileLockException e) {
+                // Held by another Leaderboard in this JVM
+                lock = null;
+            }
+            Leaderboard board = new Leaderboard(channel, lock);
+            board.load(file);
+            return board;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void load(Path file) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            for (Difficulty d : Difficulty.values()) indexes[d.ordinal()] = new Index(new Entry[0], d.ordinal());
+            if (isReadOnly()) return;
+            ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+            return;
+        }
+        List<List<Entry>> byDifficulty = new ArrayList<>();
+        for (int i = 0; i < indexes.length; i++) byDifficulty.add(new ArrayList<>());
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        long end;
+        try {
+            if (buf.getInt() != MAGIC) throw new IOException("Not a leaderboard");
+            int version = buf.getInt();
+            if (version != VERSION) throw new IOException("Unsupported leaderboard version " + version);
+            while (buf.remaining() >= 4) {
+                int start = buf.position();
+                int length = buf.getInt();
+                // A torn record at the end (a crash mid-append, or the writer's append still in
+                // progress) is dropped and, by the writer, overwritten
+                if (length < FIXED_BYTES || length > buf.remaining()) {
+                    buf.position(start);
+                    break;
+                }
+                Difficulty d = Difficulty.values()[buf.get()];
+                int score = buf.getInt();
+                long duration = buf.getLong();
+                int moves = buf.getInt();
+                long finished = buf.getLong();
+                byte[] name = new byte[length - FIXED_BYTES];
+                buf.get(name);
+                Entry e = new Entry(new String(name, StandardCharsets.UTF_8), d, score, duration, moves, finished, nextSeq++);
+                byDifficulty.get(d.ordinal()).add(e);
+            }
+            end = buf.position();
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid leaderboard " + file, e);
+        }
+        if (!isReadOnly()) {
+            channel.truncate(end);
+            channel.position(end);
+        }
+        for (int i = 0; i < indexes.length; i++) {
+            Entry[] sorted = byDifficulty.get(i).toArray(new Entry[0]);
+            Arrays.parallelSort(sorted, ORDER);
+            indexes[i] = new Index(sorted, i);
+            // Best first, so a player's first entry is their best
+            for (Entry e : sorted) best[i].putIfAbsent(e.player, e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<String, Entry>[] bestMaps() {
+        Map<String, Entry>[] maps = new Map[Difficulty.values().length];
+        for (int i = 0; i < maps.length; i++) maps[i] = new ConcurrentHashMap<>();
+        return maps;
+    }
+
+    private static Entry better(Entry a, Entry b) {
+        return ORDER.compare(a, b) <= 0 ? a : b;
+    }
+
+    /** True if another Leaderboard had the file open first, so nothing can be recorded */
+    public boolean isReadOnly() {
+        return lock == null;
+    }
+
+    /** Appends a finished game to the file and the index; fails if the file is read-only */
+    public Entry record(String player, Difficulty difficulty, int score, long durationMillis, int moves)
+            throws IOException {
+        if (isReadOnly()) throw new IOException("Leaderboard file is open for writing elsewhere");
+        byte[] name = player.getBytes(StandardCharsets.UTF_8);
+        long finished = System.currentTimeMillis();
+        ByteBuffer rec = ByteBuffer.allocate(4 + FIXED_BYTES + name.length);
+        rec.putInt(FIXED_BYTES + name.length).put((byte) difficulty.ordinal()).putInt(score)
+                .putLong(durationMillis).putInt(moves).putLong(finished).put(name);
+        rec.flip();
+        Entry e;
+        synchronized (channel) {
+            while (rec.hasRemaining()) channel.write(rec);
+            e = new Entry(player, difficulty, score, durationMillis, moves, finished, nextSeq++);
+        }
+        indexes[difficulty.ordinal()].insert(e);
+        best[difficulty.ordinal()].merge(player, e, Leaderboard::better);
+        return e;
+    }
+
+    /** Records a finished game; duration is measured from the game's start */
+    public Entry record(Game game) throws IOException {
+        return record(game.getPlayerName(), game.getDifficulty(), game.getScore(),
+                System.currentTimeMillis() - game.getStartedMillis(), game.getHistory().position());
+    }
+
+    public int size(Difficulty difficulty) {
+        return indexes[difficulty.ordinal()].size();
+    }
+
+    /** The k best entries, best first */
+    public List<Entry> top(Difficulty difficulty, int k) {
+        if (k < 0) throw new IllegalArgumentException("Invalid count");
+        return indexes[difficulty.ordinal()].top(k);
+    }
+
+    /** 1-based rank of player's best entry, or 0 if the player has none */
+    public int rank(Difficulty difficulty, String player) {
+        Entry e = best[difficulty.ordinal()].get(player);
+        return e == null ? 0 : indexes[difficulty.ordinal()].rank(e);
+    }
+
+    /** Entry at 1-based rank, or null */
+    public Entry at(Difficulty difficulty, int rank) {
+        return indexes[difficulty.ordinal()].select(rank - 1);
+    }
+
+    /** Share of entries with a lower score than score, in [0, 1] */
+    public double percentile(Difficulty difficulty, int score) {
+        return indexes[difficulty.ordinal()].percentileBelow(score);
+    }
+
+    /** Flushes appended entries to the storage device */
+    public void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Order-statistic treap for one difficulty, guarded by its own read-write lock */
+    private static final class Index {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final SplittableRandom rnd;
+        private Node root;
+
+        /** Builds a treap from entries already in ORDER, in O(n) via the Cartesian tree stack */
+        Index(Entry[] sorted, long seed) {
+            rnd = new SplittableRandom(seed);
+            Node[] stack = new Node[64];
+            int top = 0;
+            for (Entry e : sorted) {
+                Node n = new Node(e, rnd.nextInt());
+                Node last = null;
+                while (top > 0 && stack[top - 1].priority < n.priority) last = stack[--top];
+                n.left = last;
+                if (top > 0) stack[top - 1].right = n;
+                if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                stack[top++] = n;
+            }
+            root = top == 0 ? null : stack[0];
+            fixSizes(root);
+        }
+
+        private static int fixSizes(Node n) {
+            if (n == null) return 0;
+            n.size = 1 + fixSizes(n.left) + fixSizes(n.right);
+            return n.size;
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return Node.size(root);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void insert(Entry e) {
+            lock.writeLock().lock();
+            try {
+                root = insert(root, new Node(e, rnd.nextInt()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private static Node insert(Node t, Node n) {
+            if (t == null) return n;
+            if (n.priority > t.priority) {
+                Node[] parts = split(t, n.entry);
+                n.left = parts[0];
+                n.right = parts[1];
+                n.update();
+                return n;
+            }
+            if (ORDER.compare(n.entry, t.entry) < 0) {
+                t.left = insert(t.left, n);
+            } else {
+                t.right = insert(t.right, n);
+            }
+            t.update();
+            return t;
+        }
+
+        /** Splits t into entries ordered before e and the rest */
+        private static Node[] split(Node t, Entry e) {
+            if (t == null) return new Node[2];
+            if (ORDER.compare(t.entry, e) < 0) {
+                Node[] parts = split(t.right, e);
+                t.right = parts[0];
+                t.update();
+                parts[0] = t;
+                return parts;
+            }
+            Node[] parts = split(t.left, e);
+            t.left = parts[1];
+            t.update();
+            parts[1] = t;
+            return parts;
+        }
+
+        List<Entry> top(int k) {
+            lock.readLock().lock();
+            try {
+                List<Entry> out = new ArrayList<>(Math.min(k, Node.size(root)));
+                // In-order walk that stops after k entries
+                List<Node> stack = new ArrayList<>();
+                Node cur = root;
+                while (out.size() < k && (cur != null || !stack.isEmpty())) {
+                    while (cur != null) {
+                        stack.add(cur);
+                        cur = cur.left;
+                    }
+                    cur = stack.remove(stack.size() - 1);
+                    out.add(cur.entry);
+                    cur = cur.right;
+                }
+                return out;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int rank(Entry e) {
+            lock.readLock().lock();
+            try {
+                int before = 0;
+                Node cur = root;
+                while (cur != null) {
+                    int c = ORDER.compare(e, cur.entry);
+                    if (c == 0) return before + Node.size(cur.left) + 1;
+                    if (c < 0) {
+                        cur = cur.left;
+                    } else {
+                        before += Node.size(cur.left) + 1;
+                        cur = cur.right;
+                    }
+                }
+                return 0;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Entry select(int index) {
+            lock.readLock().lock();
+            try {
+                Node cur = root;
+                while (cur != null) {
+                    int left = Node.size(cur.left);
+                    if (index < left) {
+                        cur = cur.left;
+                    } else if (index == left) {
+                        return cur.entry;
+                    } else {
+                        index -= left + 1;
+                        cur = cur.right;
+                    }
+                }
+                return null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        double percentileBelow(int score) {
+            lock.readLock().lock();
+            try {
+                int n = Node.size(root);
+                if (n == 0) return 0;
+                // Entries with at least score come first in ORDER
+                int atLeast = 0;
+                Node cur = root;
+                while (cur != null) {
+                    if (cur.entry.score >= score) {
+                        atLeast += Node.size(cur.left) + 1;
+                        cur = cur.right;
+                    } else {
+                        cur = cur.left;
+                    }
+                }
+                return (double) (n - atLeast) / n;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static final class Node {
+        final Entry entry;
+        final int priority;
+        Node left, right;
+        int size = 1;
+
+        Node(Entry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+        }
+
+        static int size(Node n) { return n == null ? 0 : n.size; }
+
+        void update() { size = 1 + size(left) + size(right); }
+    }
+}
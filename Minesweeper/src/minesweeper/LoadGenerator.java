@@ -0,0 +1,161 @@
+package minesweeper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load-generating client for GameServer: each connection plays random games (mostly
+ * reveals, some flags and undos) one request at a time and records the round-trip time of
+ * every request. Reports throughput and latency percentiles over all connections.
+ *
+ * Usage: java LoadGenerator [host] [port] [connections] [requests per connection] [difficulty]
+ */
+public class LoadGenerator {
+    private final String host;
+    private final int port;
+    private final Difficulty difficulty;
+
+    public LoadGenerator(String host, int port, Difficulty difficulty) {
+        this.host = host;
+        this.port = port;
+        this.difficulty = difficulty;
+    }
+
+    /** Latencies of one run, sorted */
+    public static class Report {
+        public final long requests;
+        public final long errors;
+        public final long games;
+        public final long elapsedNanos;
+        private final long[] sortedNanos;
+
+        Report(long requests, long errors, long games, long elapsedNanos, long[] latencies) {
+            this.requests = requests;
+            this.errors = errors;
+            this.games = games;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedNanos = latencies;
+            Arrays.sort(sortedNanos);
+        }
+
+        public double requestsPerSecond() { return requests * 1e9 / elapsedNanos; }
+
+        /** Latency in microseconds at quantile q in [0, 1] */
+        public double percentileMicros(double q) {
+            if (sortedNanos.length == 0) return 0;
+            int idx = (int) Math.min(sortedNanos.length - 1, Math.floor(q * sortedNanos.length));
+            return sortedNanos[idx] / 1e3;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d  errors=%d  games=%d  %.0f req/s  latency p50/p99/p99.9/max=%.0f/%.0f/%.0f/%.0f us",
+                    requests, errors, games, requestsPerSecond(), percentileMicros(0.5), percentileMicros(0.99),
+                    percentileMicros(0.999), percentileMicros(1));
+        }
+    }
+
+    /** Opens connections at once, each sending requests requests, and waits for all of them */
+    public Report run(int connections, int requests) throws InterruptedException {
+        if (connections <= 0 || requests <= 0) throw new IllegalArgumentException("Invalid load");
+        long[][] latencies = new long[connections][];
+        LongAdder errors = new LongAdder();
+        LongAdder games = new LongAdder();
+        Thread[] threads = new Thread[connections];
+        long start = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            int client = i;
+            threads[i] = new Thread(() -> latencies[client] = play(client, requests, errors, games), "load-" + i);
+            threads[i].start();
+        }
+        for (Thread t : threads) t.join();
+        long elapsed = System.nanoTime() - start;
+
+        int total = 0;
+        for (long[] l : latencies) total += l.length;
+        long[] all = new long[total];
+        int at = 0;
+        for (long[] l : latencies) {
+            System.arraycopy(l, 0, all, at, l.length);
+            at += l.length;
+        }
+        return new Report(total, errors.sum(), games.sum(), elapsed, all);
+    }
+
+    private long[] play(int client, int requests, LongAdder errors, LongAdder games) {
+        long[] latencies = new long[requests];
+        int sent = 0;
+        SplittableRandom rnd = new SplittableRandom(client);
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            String session = null;
+            int rows = 0, cols = 0;
+            while (sent < requests) {
+                String request;
+                if (session == null) {
+                    request = "NEW " + difficulty.name();
+                } else {
+                    int roll = rnd.nextInt(100);
+                    if (roll < 80) {
+                        request = "REVEAL " + session + " " + rnd.nextInt(rows) + " " + rnd.nextInt(cols);
+                    } else if (roll < 95) {
+                        request = "FLAG " + session + " " + rnd.nextInt(rows) + " " + rnd.nextInt(cols);
+                    } else {
+                        request = "UNDO " + session;
+                    }
+                }
+                long t0 = System.nanoTime();
+                out.write(request);
+                out.write('\n');
+                out.flush();
+                String reply = in.readLine();
+                latencies[sent++] = System.nanoTime() - t0;
+                if (reply == null) break;
+                String[] p = reply.split(" ");
+                if (!p[0].equals("OK")) {
+                    errors.increment();
+                    continue;
+                }
+                if (session == null) {
+                    session = p[1];
+                    rows = Integer.parseInt(p[2]);
+                    cols = Integer.parseInt(p[3]);
+                    games.increment();
+                } else if (!p[1].equals(GameStatus.RUNNING.name())) {
+                    // Game over: drop it and start another on the next request
+                    out.write("CLOSE " + session + "\n");
+                    out.flush();
+                    in.readLine();
+                    session = null;
+                }
+            }
+            out.write("QUIT\n");
+            out.flush();
+        } catch (IOException e) {
+            errors.increment();
+        }
+        return Arrays.copyOf(latencies, sent);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int requests = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+        Difficulty difficulty = args.length > 4 ? Difficulty.valueOf(args[4].toUpperCase()) : Difficulty.EASY;
+
+        LoadGenerator load = new LoadGenerator(host, port, difficulty);
+        System.out.println(connections + " connections x " + requests + " requests, " + difficulty.name());
+        System.out.println(load.run(connections, requests));
+    }
+}
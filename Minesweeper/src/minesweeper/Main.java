@@ -1,9 +1,21 @@
+package minesweeper;
+
 import javax.swing.SwingUtilities;
 import javax.swing.JOptionPane;
 
 public class Main {
     public static void main(String[] args) {
+        BoardPool.shared(); // start stocking no-guess boards while the player types a name
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.register();
+            EngineMetrics.startCsvDump(EngineMetrics.defaultCsvFile(), 60);
+        }
         SwingUtilities.invokeLater(() -> {
+            Game resumed = Autosaver.resume(Autosaver.defaultFile());
+            if (resumed != null) {
+                new MinesweeperUI(resumed).setVisible(true);
+                return;
+            }
             String playerName = JOptionPane.showInputDialog(null,
                     "Enter your name:", "Player Name",
                     JOptionPane.PLAIN_MESSAGE);
@@ -0,0 +1,357 @@
+package minesweeper;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Swing front end. Moves are applied by a GameEngine off the EDT; the canvas and the labels
+ * catch up through coalesced invokeLater calls, so the EDT only ever paints.
+ */
+public class MinesweeperUI extends JFrame {
+    // The game on display; after construction only the engine thread touches its board and history
+    private Game game;
+    private final GameEngine engine;
+    private final AtomicReference<Runnable> pendingLabels = new AtomicReference<>();
+    private BoardCanvas canvas;
+    private final Map<Difficulty, JRadioButtonMenuItem> difficultyItems = new EnumMap<>(Difficulty.class);
+    private JCheckBoxMenuItem noGuessItem;
+    private JLabel playerLabel;
+    private JLabel scoreLabel;
+    private JLabel statusLabel;
+    private final Autosaver autosaver = new Autosaver(Autosaver.defaultFile(),
+            e -> SwingUtilities.invokeLater(() -> updateLabels(game.getScore(), game.getBoard().status())));
+    private Journal journal;
+    private final Leaderboard leaderboard = openLeaderboard();
+    // Engine thread: the last game whose result went to the leaderboard
+    private Game recorded;
+
+    public MinesweeperUI(Difficulty difficulty, String playerName) {
+        this(new Game(difficulty, playerName));
+    }
+
+    /** Shows an existing game, e.g. one resumed from a save file */
+    public MinesweeperUI(Game game) {
+        super("Minesweeper");
+        this.game = game;
+        startJournal(game);
+        initUI();
+        render();
+        this.engine = new GameEngine(game, this::engineUpdated, this::engineFailed);
+    }
+
+    /** Initialize UI layout */
+    private void initUI() {
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+        setLayout(new BorderLayout());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                // Let queued moves, the last autosave and journal records finish before the JVM exits
+                try {
+                    engine.close();
+                    autosaver.close();
+                    closeJournal();
+                    if (leaderboard != null) leaderboard.close();
+                } catch (IOException ignored) {
+                    // Every entry was already written when it was recorded
+                }
+            }
+        });
+
+        setJMenuBar(createMenuBar());
+        add(createToolbar(), BorderLayout.NORTH);
+        add(createGrid(), BorderLayout.CENTER);
+
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    /** Menu bar with difficulty options */
+    private JMenuBar createMenuBar() {
+        JMenuBar menuBar = new JMenuBar();
+        JMenu gameMenu = new JMenu("Game");
+        JMenu difficultyMenu = new JMenu("Difficulty");
+
+        ButtonGroup group = new ButtonGroup();
+        for (Difficulty diff : Difficulty.values()) {
+            JRadioButtonMenuItem item = new JRadioButtonMenuItem(diff.toString());
+            group.add(item);
+            item.addActionListener(e -> resetGame(diff));
+            difficultyItems.put(diff, item);
+            difficultyMenu.add(item);
+        }
+
+        JMenuItem newGameItem = new JMenuItem("New Game");
+        newGameItem.addActionListener(e -> resetGame(game.getDifficulty()));
+
+        noGuessItem = new JCheckBoxMenuItem("No Guessing");
+        noGuessItem.addActionListener(e -> resetGame(game.getDifficulty(), noGuessItem.isSelected()));
+
+        JMenuItem openItem = new JMenuItem("Open...");
+        openItem.addActionListener(e -> openGame());
+
+        JMenuItem saveItem = new JMenuItem("Save As...");
+        saveItem.addActionListener(e -> saveGame());
+
+        JMenuItem leaderboardItem = new JMenuItem("Leaderboard...");
+        leaderboardItem.setEnabled(leaderboard != null);
+        leaderboardItem.addActionListener(e -> showLeaderboard());
+
+        JMenuItem exitItem = new JMenuItem("Exit");
+        exitItem.addActionListener(e -> dispatchEvent(new WindowEvent(this, WindowEvent.WINDOW_CLOSING)));
+
+        gameMenu.add(newGameItem);
+        gameMenu.add(difficultyMenu);
+        gameMenu.add(noGuessItem);
+        gameMenu.addSeparator();
+        gameMenu.add(openItem);
+        gameMenu.add(saveItem);
+        gameMenu.addSeparator();
+        gameMenu.add(leaderboardItem);
+        gameMenu.addSeparator();
+        gameMenu.add(exitItem);
+
+        menuBar.add(gameMenu);
+        return menuBar;
+    }
+
+    /** Toolbar with undo/redo/reset and labels */
+    private JToolBar createToolbar() {
+        JToolBar tb = new JToolBar();
+        tb.setFloatable(false);
+
+        JButton undo = new JButton("Undo");
+        undo.addActionListener(e -> engine.undo());
+
+        JButton redo = new JButton("Redo");
+        redo.addActionListener(e -> engine.redo());
+
+        JButton reset = new JButton("Reset");
+        reset.addActionListener(e -> resetGame(game.getDifficulty()));
+
+        playerLabel = new JLabel("Player: " + game.getPlayerName());
+        scoreLabel = new JLabel("Score: 0");
+        statusLabel = new JLabel("Status: RUNNING");
+
+        tb.add(undo);
+        tb.add(redo);
+        tb.addSeparator();
+        tb.add(playerLabel);
+        tb.add(Box.createHorizontalStrut(16));
+        tb.add(scoreLabel);
+        tb.add(Box.createHorizontalStrut(16));
+        tb.add(statusLabel);
+        tb.add(Box.createHorizontalGlue());
+        tb.add(reset);
+
+        return tb;
+    }
+
+    /** Board canvas, scrollable for boards larger than the screen */
+    private JScrollPane createGrid() {
+        // Keeps a huge zero region from stalling the EDT on one thread
+        game.getBoard().setParallelReveal(ForkJoinPool.commonPool(), Board.DEFAULT_PARALLEL_THRESHOLD);
+        canvas = new BoardCanvas(game.getBoard(), new BoardCanvas.CellHandler() {
+            @Override
+            public void reveal(int r, int c) {
+                engine.execute(new RevealCommand(r, c));
+            }
+
+            @Override
+            public void flag(int r, int c) {
+                engine.execute(new FlagCommand(r, c));
+            }
+        });
+        JScrollPane pane = new JScrollPane(canvas);
+        pane.setBorder(BorderFactory.createEmptyBorder());
+        return pane;
+    }
+
+    /** Repaint the whole board and sync the labels and menus with the game on display */
+    private void render() {
+        canvas.repaint();
+        updateLabels(game.getScore(), game.getBoard().status());
+        playerLabel.setText("Player: " + game.getPlayerName());
+        setTitle("Minesweeper - " + game.getDifficulty() + " - " + game.getPlayerName());
+        difficultyItems.get(game.getDifficulty()).setSelected(true);
+        noGuessItem.setSelected(game.isNoGuess());
+    }
+
+    /**
+     * Engine thread, once its queue drains. The canvas repaints itself from board events;
+     * the labels follow through at most one pending invokeLater, and the game is autosaved.
+     */
+    private void engineUpdated(Game g) {
+        autosaver.moveMade(g);
+        if (g != recorded && g.getBoard().status() != GameStatus.RUNNING && leaderboard != null
+                && !leaderboard.isReadOnly()) {
+            recorded = g;
+            try {
+                leaderboard.record(g);
+            } catch (IOException e) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                        "The result could not be recorded: " + e.getMessage(), "Leaderboard",
+                        JOptionPane.WARNING_MESSAGE));
+            }
+        }
+        int score = g.getScore();
+        GameStatus status = g.getBoard().status();
+        if (pendingLabels.getAndSet(() -> updateLabels(score, status)) == null) {
+            SwingUtilities.invokeLater(() -> pendingLabels.getAndSet(null).run());
+        }
+    }
+
+    /** Engine thread, when a move or other request threw; play goes on */
+    private void engineFailed(RuntimeException e) {
+        e.printStackTrace();
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                "The last action failed: " + e, "Minesweeper", JOptionPane.ERROR_MESSAGE));
+    }
+
+    private void updateLabels(int score, GameStatus status) {
+        scoreLabel.setText("Score: " + score);
+        IOException autosaveError = autosaver.lastError();
+        statusLabel.setText("Status: " + status
+                + (autosaveError == null ? "" : " (autosave failed: " + autosaveError.getMessage() + ")"));
+    }
+
+    /** Reset game with new difficulty */
+    private void resetGame(Difficulty difficulty) {
+        resetGame(difficulty, game.isNoGuess());
+    }
+
+    /**
+     * The same kind of game is dealt again in place on the engine thread, after any queued
+     * moves: the Game, and its board too when the size is unchanged, are reused. A new
+     * kind of game is also built there, since a no-guess board may have to be generated
+     * on the spot, and then handed to the EDT.
+     */
+    private void resetGame(Difficulty difficulty, boolean noGuess) {
+        if (noGuess != game.isNoGuess()) {
+            String player = game.getPlayerName();
+            engine.submit(g -> {
+                Game next = new Game(difficulty, player, noGuess);
+                SwingUtilities.invokeLater(() -> showGame(next));
+            });
+            return;
+        }
+        engine.submit(g -> {
+            g.reset(difficulty);
+            g.getBoard().setParallelReveal(ForkJoinPool.commonPool(), Board.DEFAULT_PARALLEL_THRESHOLD);
+            recorded = null;
+            startJournal(g);
+            Board b = g.getBoard();
+            SwingUtilities.invokeLater(() -> showBoard(b));
+        });
+    }
+
+    private void showGame(Game newGame) {
+        this.game = newGame;
+        newGame.getBoard().setParallelReveal(ForkJoinPool.commonPool(), Board.DEFAULT_PARALLEL_THRESHOLD);
+        // Moves still queued finish on the old game and its journal before the switch
+        engine.switchGame(newGame);
+        engine.submit(this::startJournal);
+        showBoard(newGame.getBoard());
+    }
+
+    /** Points the existing canvas at b; the rest of the component tree is kept as it is */
+    private void showBoard(Board b) {
+        Dimension before = canvas.getPreferredSize();
+        canvas.setBoard(b);
+        render();
+        // Only a different grid size needs the frame laid out again
+        if (!before.equals(canvas.getPreferredSize())) pack();
+    }
+
+    private static Leaderboard openLeaderboard() {
+        try {
+            return Leaderboard.open(Leaderboard.defaultFile());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Top ten for the current difficulty and where this player stands */
+    private void showLeaderboard() {
+        Difficulty d = game.getDifficulty();
+        StringBuilder sb = new StringBuilder();
+        int place = 1;
+        for (Leaderboard.Entry e : leaderboard.top(d, 10)) sb.append(place++).append(". ").append(e).append('\n');
+        if (place == 1) sb.append("No finished games yet\n");
+        int rank = leaderboard.rank(d, game.getPlayerName());
+        if (rank > 0) {
+            sb.append('\n').append(game.getPlayerName()).append(": #").append(rank)
+                    .append(" of ").append(leaderboard.size(d));
+        }
+        if (leaderboard.isReadOnly()) {
+            sb.append("\n\nThe leaderboard is open in another window or server, so results are not recorded here");
+        }
+        JOptionPane.showMessageDialog(this, sb.toString(), "Leaderboard - " + d, JOptionPane.PLAIN_MESSAGE);
+    }
+
+    private void saveGame() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path file = chooser.getSelectedFile().toPath();
+        // Saved between moves on the engine thread; only a failure comes back to the EDT
+        engine.submit(g -> {
+            try {
+                SaveFile.save(g, file);
+            } catch (IOException | IllegalArgumentException e) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                        "Could not save: " + e.getMessage(), "Save", JOptionPane.ERROR_MESSAGE));
+            }
+        });
+    }
+
+    private void openGame() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try {
+            showGame(SaveFile.load(chooser.getSelectedFile().toPath()));
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not open: " + e.getMessage(), "Open", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Journals fresh games to Journal.defaultFile(). A resumed or opened game has moves the
+     * journal would not contain, so it is left unjournaled. Runs on whichever thread owns g.
+     */
+    private void startJournal(Game g) {
+        try {
+            closeJournal();
+            if (g.getHistory().lastMove() == 0) {
+                journal = Journal.create(Journal.defaultFile(), g);
+                g.getHistory().setJournal(journal, this::journalFailed);
+            }
+        } catch (IOException e) {
+            journal = null;
+        }
+    }
+
+    /** Engine thread; History has already detached the journal, so play goes on without it */
+    private void journalFailed(RuntimeException e) {
+        closeJournal();
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                "The game journal stopped: " + e.getMessage(), "Minesweeper", JOptionPane.WARNING_MESSAGE));
+    }
+
+    private void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+            // The records already on disk are still a valid prefix of the game
+        }
+        journal = null;
+    }
+}
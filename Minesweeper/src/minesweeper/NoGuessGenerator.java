@@ -0,0 +1,88 @@
+package minesweeper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces boards that can be cleared by logic alone from their opening cell (the centre).
+ * Candidates are ordinary seeded boards with a safe 3x3 opening, kept only if the Solver
+ * clears them without ever running out of certain moves.
+ */
+public final class NoGuessGenerator {
+    /** Give up after this many rejected candidates, e.g. for impossibly dense boards */
+    public static final int MAX_ATTEMPTS = 1_000_000;
+
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "no-guess-generator");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private NoGuessGenerator() {}
+
+    /** The unrevealed board for (rows, cols, mines, seed), exactly as a no-guess check sees it */
+    public static Board candidate(int rows, int cols, int mines, long seed) {
+        Board board = new Board(rows, cols, mines, seed);
+        board.setSafeOpening(true);
+        return board;
+    }
+
+    /** Reveals the opening cell that no-guess boards are guaranteed to be solvable from */
+    public static DeltaBatch open(Board board) {
+        return board.reveal(board.rows() / 2, board.cols() / 2);
+    }
+
+    public static boolean isSolvable(int rows, int cols, int mines, long seed) {
+        Board board = candidate(rows, cols, mines, seed);
+        Solver solver = new Solver(board);
+        board.addListener(solver);
+        open(board);
+        int[] none = new int[0];
+        while (board.status() == GameStatus.RUNNING) {
+            int[] safe = solver.safeCells();
+            if (safe.length == 0) return false;
+            board.revealAndFlag(safe, none);
+        }
+        return board.status() == GameStatus.WON;
+    }
+
+    public static Board generate(Difficulty difficulty) {
+        return generate(difficulty.rows(), difficulty.cols(), difficulty.mines());
+    }
+
+    /**
+     * Rejection-samples seeds on every core at once and returns the first solvable board;
+     * the other workers are cancelled as soon as one succeeds.
+     */
+    public static Board generate(int rows, int cols, int mines) {
+        int workers = Runtime.getRuntime().availableProcessors();
+        SplittableRandom seeds = new SplittableRandom();
+        AtomicInteger attempts = new AtomicInteger();
+        List<Callable<Long>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            SplittableRandom rnd = seeds.split();
+            tasks.add(() -> {
+                while (attempts.incrementAndGet() <= MAX_ATTEMPTS) {
+                    if (Thread.currentThread().isInterrupted()) throw new InterruptedException();
+                    long seed = rnd.nextLong();
+                    if (isSolvable(rows, cols, mines, seed)) return seed;
+                }
+                throw new IllegalStateException("No no-guess board found in " + MAX_ATTEMPTS + " attempts");
+            });
+        }
+        try {
+            return candidate(rows, cols, mines, WORKERS.invokeAny(tasks));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Board generation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package minesweeper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finishes a large flood fill on a ForkJoinPool. The board is cut into bands of whole rows
+ * and each band is owned by one task per round, so cells are written with plain stores
+ * and no locking. A zero on a band's edge hands its neighbours in the next band over as
+ * frontier for the following round; rounds repeat until no band receives any.
+ *
+ * A band's cells form one contiguous index range, so sorting each band's revealed cells
+ * and concatenating them in band order gives the whole fill in ascending order without a
+ * global sort.
+ *
+ * Cells are addressed as tiles[i >>> tileBits][i & tileMask], covering both tiled storage
+ * and a flat array (one tile, tileBits = FLAT). Bands may share a tile, which is safe as
+ * each writes only its own bytes.
+ */
+final class ParallelFlood {
+    /** Tile bits that make a single array hold every cell */
+    static final int FLAT = 31;
+
+    private final byte[][] tiles;
+    private final int tileBits;
+    private final int tileMask;
+    private final int rows;
+    private final int cols;
+    private final int bandRows;
+    private final Band[] bands;
+
+    private ParallelFlood(byte[][] tiles, int tileBits, int rows, int cols, int parallelism) {
+        this.tiles = tiles;
+        this.tileBits = tileBits;
+        this.tileMask = (1 << tileBits) - 1;
+        this.rows = rows;
+        this.cols = cols;
+        // A few bands per worker so uneven regions still balance
+        this.bandRows = Math.max(8, (rows + parallelism * 4 - 1) / (parallelism * 4));
+        this.bands = new Band[(rows + bandRows - 1) / bandRows];
+        for (int b = 0; b < bands.length; b++) bands[b] = new Band(b);
+    }
+
+    /** Cells revealed in parallel, ascending, and how many cells were expanded in total */
+    static final class Result {
+        final int[] revealed;
+        final int opened;
+
+        Result(int[] revealed, int opened) {
+            this.revealed = revealed;
+            this.opened = opened;
+        }
+    }
+
+    /**
+     * Continues a flood fill whose queued cells (already marked revealed, not yet expanded)
+     * are frontier[from, to). The returned cells do not include the frontier itself. Every
+     * tile must be writable by the caller.
+     */
+    static Result run(ForkJoinPool pool, byte[][] tiles, int tileBits, int rows, int cols,
+                      int[] frontier, int from, int to) {
+        ParallelFlood flood = new ParallelFlood(tiles, tileBits, rows, cols, pool.getParallelism());
+        for (int i = from; i < to; i++) {
+            int cell = frontier[i];
+            flood.bands[cell / cols / flood.bandRows].pending.add(cell);
+        }
+        return pool.invoke(ForkJoinTask.adapt(flood::fill));
+    }
+
+    private Result fill() {
+        List<Band> active = new ArrayList<>();
+        for (Band b : bands) if (!b.pending.isEmpty()) active.add(b);
+        while (!active.isEmpty()) {
+            ForkJoinTask.invokeAll(active);
+            // Exchange edge frontiers; every task of the round has finished
+            active.clear();
+            for (Band b : bands) {
+                if (b.index > 0) bands[b.index - 1].incoming.addAll(b.outUp);
+                if (b.index < bands.length - 1) bands[b.index + 1].incoming.addAll(b.outDown);
+                b.outUp.clear();
+                b.outDown.clear();
+            }
+            for (Band b : bands) {
+                b.reinitialize();
+                if (!b.incoming.isEmpty()) active.add(b);
+            }
+        }
+
+        List<ForkJoinTask<?>> sorts = new ArrayList<>();
+        int total = 0, opened = 0;
+        for (Band b : bands) {
+            total += b.revealed.size;
+            opened += b.opened;
+            if (b.revealed.size > 1) sorts.add(ForkJoinTask.adapt(() -> Arrays.sort(b.revealed.values, 0, b.revealed.size)));
+        }
+        ForkJoinTask.invokeAll(sorts);
+        int[] merged = new int[total];
+        int at = 0;
+        for (Band b : bands) {
+            System.arraycopy(b.revealed.values, 0, merged, at, b.revealed.size);
+            at += b.revealed.size;
+        }
+        return new Result(merged, opened);
+    }
+
+    private final class Band extends RecursiveAction {
+        final int index;
+        final int firstCell, endCell;
+        // Claimed by the serial fill before the hand-over, waiting to be expanded
+        final IntList pending = new IntList();
+        // Neighbours found by adjacent bands last round, not yet checked
+        final IntList incoming = new IntList();
+        final IntList outUp = new IntList();
+        final IntList outDown = new IntList();
+        final IntList revealed = new IntList();
+        final IntList stack = new IntList();
+        int opened;
+
+        Band(int index) {
+            this.index = index;
+            this.firstCell = index * bandRows * cols;
+            this.endCell = Math.min(rows, (index + 1) * bandRows) * cols;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < pending.size; i++) stack.add(pending.values[i]);
+            pending.clear();
+            for (int i = 0; i < incoming.size; i++) claim(incoming.values[i]);
+            incoming.clear();
+
+            while (stack.size > 0) {
+                int cur = stack.values[--stack.size];
+                opened++;
+                if ((tiles[cur >>> tileBits][cur & tileMask] & Cell.ADJ_MASK) != 0) continue;
+                int cr = cur / cols, cc = cur % cols;
+                int r0 = Math.max(0, cr - 1), r1 = Math.min(rows - 1, cr + 1);
+                int c0 = Math.max(0, cc - 1), c1 = Math.min(cols - 1, cc + 1);
+                for (int rr = r0; rr <= r1; rr++) {
+                    for (int nb = rr * cols + c0, end = rr * cols + c1; nb <= end; nb++) {
+                        if (nb < firstCell) {
+                            outUp.add(nb);
+                        } else if (nb >= endCell) {
+                            outDown.add(nb);
+                        } else {
+                            claim(nb);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void claim(int i) {
+            byte[] tile = tiles[i >>> tileBits];
+            byte b = tile[i & tileMask];
+            if ((b & (Cell.REVEALED | Cell.FLAGGED)) != 0) return;
+            tile[i & tileMask] = (byte) (b | Cell.REVEALED);
+            revealed.add(i);
+            stack.add(i);
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        void addAll(IntList other) {
+            if (size + other.size > values.length) values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        boolean isEmpty() { return size == 0; }
+        void clear() { size = 0; }
+    }
+}
@@ -0,0 +1,35 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+
+/** Reveals uniformly random hidden, unflagged cells until the game ends. */
+public class RandomStrategy implements Strategy {
+    private final SplittableRandom rnd;
+
+    public RandomStrategy(long seed) {
+        this.rnd = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Command nextMove(Game game) {
+        Board board = game.getBoard();
+        int[] cell = randomHidden(board, rnd);
+        return cell == null ? null : new RevealCommand(cell[0], cell[1]);
+    }
+
+    /** A random cell that is neither revealed nor flagged, or null if there is none */
+    static int[] randomHidden(Board board, SplittableRandom rnd) {
+        int rows = board.rows(), cols = board.cols();
+        // Rejection sampling is fast while most of the board is hidden; fall back to a scan
+        for (int attempt = 0; attempt < 64; attempt++) {
+            int i = rnd.nextInt(rows * cols);
+            if ((board.stateAt(i) & (Cell.REVEALED | Cell.FLAGGED)) == 0) return new int[]{i / cols, i % cols};
+        }
+        int start = rnd.nextInt(rows * cols);
+        for (int k = 0, n = rows * cols; k < n; k++) {
+            int i = (start + k) % n;
+            if ((board.stateAt(i) & (Cell.REVEALED | Cell.FLAGGED)) == 0) return new int[]{i / cols, i % cols};
+        }
+        return null;
+    }
+}
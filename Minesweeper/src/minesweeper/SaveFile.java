@@ -0,0 +1,235 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary save format for a whole Game: header, three bit-packed cell layers (mines,
+ * revealed, flagged) and the undo/redo timeline. Adjacency counts are not stored; they
+ * are recomputed from the mine layer on load. Files are read through a memory map and
+ * the layers are unpacked a 64-bit word at a time, skipping empty words.
+ *
+ * Layout (big endian): magic, version, difficulty, noGuess, status, firstMove,
+ * safeOpening, rows, cols, mines, seed, score, scoring policy id and state, player name,
+ * the three layers as ceil(rows * cols / 64) longs each, then base, position, move count
+ * and the moves. Version 1 files have no scoring fields and load with ClassicScoring.
+ */
+public final class SaveFile {
+    static final int MAGIC = 0x4D535750; // "MSWP"
+    static final int VERSION = 2;
+
+    private SaveFile() {}
+
+    public static void save(Game game, Path file) throws IOException {
+        write(capture(game), file);
+    }
+
+    /**
+     * Everything a save needs, taken from a game so it can be written on another thread
+     * while play continues. The timeline is shared copy-on-write, so taking an image is
+     * O(1) apart from the board snapshot: a copy of the cell bytes for flat boards, and
+     * an O(1) fork for tiled ones (see Board.useTiles).
+     */
+    static final class Image {
+        final Difficulty difficulty;
+        final boolean noGuess;
+        final String playerName;
+        final int score;
+        final int scoringId;
+        final int rows, cols, mines;
+        final long seed;
+        final boolean safeOpening;
+        final Board.Snapshot board;
+        final History.Recorded moves;
+
+        private Image(Game game) {
+            Board b = game.getBoard();
+            if (b.isChunked()) throw new IllegalArgumentException("Chunked boards cannot be saved");
+            History h = game.getHistory();
+            difficulty = game.getDifficulty();
+            noGuess = game.isNoGuess();
+            playerName = game.getPlayerName();
+            score = game.getScore();
+            scoringId = b.getScoring() == null ? ClassicScoring.ID : b.getScoring().id();
+            rows = b.rows();
+            cols = b.cols();
+            mines = b.mines();
+            seed = b.seed();
+            safeOpening = b.isSafeOpening();
+            board = b.snapshot();
+            moves = h.recorded();
+        }
+    }
+
+    static Image capture(Game game) {
+        return new Image(game);
+    }
+
+    /** Writes to a temporary file first and renames it over file, so a crash never leaves half a save */
+    static void write(Image image, Path file) throws IOException {
+        byte[] name = image.playerName.getBytes(StandardCharsets.UTF_8);
+        int n = image.rows * image.cols;
+        int words = (n + 63) >>> 6;
+        long size = 4 + 4 + 5 + 4 * 3 + 8 + 4 + 1 + 8 + 4 + name.length + 3L * words * 8 + 4 * 3;
+        History.Recorded moves = image.moves;
+        for (int i = 0; i < moves.size(); i++) size += moveBytes(moves.batch(i));
+        if (size > Integer.MAX_VALUE) throw new IllegalArgumentException("Board too large to save");
+
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        buf.putInt(MAGIC).putInt(VERSION);
+        buf.put((byte) image.difficulty.ordinal());
+        buf.put((byte) (image.noGuess ? 1 : 0));
+        buf.put((byte) image.board.status.ordinal());
+        buf.put((byte) (image.board.firstMove ? 1 : 0));
+        buf.put((byte) (image.safeOpening ? 1 : 0));
+        buf.putInt(image.rows).putInt(image.cols).putInt(image.mines);
+        buf.putLong(image.seed);
+        buf.putInt(image.score);
+        buf.put((byte) image.scoringId).putLong(image.board.scoringState);
+        buf.putInt(name.length).put(name);
+        CellStore cells = image.board.cells;
+        writeLayers(buf, cells instanceof TiledCellStore ? ((TiledCellStore) cells).toArray()
+                : ((ArrayCellStore) cells).cells, n, words);
+
+        buf.putInt(moves.base).putInt(moves.position).putInt(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            Command cmd = moves.command(i);
+            DeltaBatch batch = moves.batch(i);
+            buf.put(CommandCodec.kind(cmd));
+            buf.putInt(CommandCodec.row(cmd)).putInt(CommandCodec.col(cmd));
+            buf.putInt(moves.score(i));
+            buf.put((byte) batch.prevStatus.ordinal()).put((byte) batch.nextStatus.ordinal());
+            putRuns(buf, batch.revealedRuns());
+            putRuns(buf, batch.flaggedRuns());
+            putRuns(buf, batch.unflaggedRuns());
+        }
+
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long moveBytes(DeltaBatch batch) {
+        return 1 + 4 + 4 + 4 + 2 + 3 * 4
+                + 4L * (batch.revealedRuns().length + batch.flaggedRuns().length + batch.unflaggedRuns().length);
+    }
+
+    private static void writeLayers(ByteBuffer buf, byte[] cells, int n, int words) {
+        int mineAt = buf.position(), revealedAt = mineAt + words * 8, flaggedAt = revealedAt + words * 8;
+        for (int w = 0; w < words; w++) {
+            long mine = 0, revealed = 0, flagged = 0;
+            for (int i = w << 6, end = Math.min(n, i + 64), bit = 0; i < end; i++, bit++) {
+                byte b = cells[i];
+                if (b == 0) continue;
+                if ((b & Cell.MINE) != 0) mine |= 1L << bit;
+                if ((b & Cell.REVEALED) != 0) revealed |= 1L << bit;
+                if ((b & Cell.FLAGGED) != 0) flagged |= 1L << bit;
+            }
+            buf.putLong(mineAt + w * 8, mine);
+            buf.putLong(revealedAt + w * 8, revealed);
+            buf.putLong(flaggedAt + w * 8, flagged);
+        }
+        buf.position(flaggedAt + words * 8);
+    }
+
+    private static void putRuns(ByteBuffer buf, int[] runs) {
+        buf.putInt(runs.length);
+        for (int v : runs) buf.putInt(v);
+    }
+
+    public static Game load(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return read(buf);
+        } catch (RuntimeException e) {
+            // Truncated or corrupt files surface as buffer underflows and bad ordinals
+            throw new IOException("Invalid save file " + file, e);
+        }
+    }
+
+    private static Game read(ByteBuffer buf) throws IOException {
+        if (buf.getInt() != MAGIC) throw new IOException("Not a save file");
+        int version = buf.getInt();
+        if (version < 1 || version > VERSION) throw new IOException("Unsupported save version " + version);
+        Difficulty difficulty = Difficulty.values()[buf.get()];
+        boolean noGuess = buf.get() != 0;
+        GameStatus status = GameStatus.values()[buf.get()];
+        boolean firstMove = buf.get() != 0;
+        boolean safeOpening = buf.get() != 0;
+        int rows = buf.getInt(), cols = buf.getInt(), mines = buf.getInt();
+        long seed = buf.getLong();
+        int score = buf.getInt();
+        int scoringId = version >= 2 ? buf.get() : ClassicScoring.ID;
+        long scoringState = version >= 2 ? buf.getLong() : 0;
+        byte[] name = new byte[buf.getInt()];
+        buf.get(name);
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) throw new IOException("Invalid size");
+
+        int n = rows * cols;
+        int words = (n + 63) >>> 6;
+        byte[] packed = new byte[n];
+        int mineAt = buf.position(), revealedAt = mineAt + words * 8, flaggedAt = revealedAt + words * 8;
+        int revealedSafe = 0;
+        for (int w = 0; w < words; w++) {
+            long mine = buf.getLong(mineAt + w * 8);
+            long revealed = buf.getLong(revealedAt + w * 8);
+            long flagged = buf.getLong(flaggedAt + w * 8);
+            setBits(packed, w << 6, mine, (byte) Cell.MINE);
+            setBits(packed, w << 6, revealed, (byte) Cell.REVEALED);
+            setBits(packed, w << 6, flagged, (byte) Cell.FLAGGED);
+            revealedSafe += Long.bitCount(revealed & ~mine);
+        }
+        buf.position(flaggedAt + words * 8);
+        Board.computeAdjacency(packed, rows, cols);
+        Board board = Board.fromPacked(rows, cols, mines, seed, packed, n - mines - revealedSafe,
+                status, firstMove, safeOpening);
+
+        int base = buf.getInt(), position = buf.getInt(), moves = buf.getInt();
+        Command[] commands = new Command[moves];
+        DeltaBatch[] batches = new DeltaBatch[moves];
+        int[] scores = new int[moves];
+        for (int i = 0; i < moves; i++) {
+            byte kind = buf.get();
+            int r = buf.getInt(), c = buf.getInt();
+            commands[i] = CommandCodec.decode(kind, r, c);
+            scores[i] = buf.getInt();
+            GameStatus prev = GameStatus.values()[buf.get()];
+            GameStatus next = GameStatus.values()[buf.get()];
+            batches[i] = DeltaBatch.fromRuns(getRuns(buf), getRuns(buf), getRuns(buf), prev, next);
+        }
+        History history = new History();
+        history.load(base, position, commands, batches, scores);
+        Game game = new Game(difficulty, new String(name, StandardCharsets.UTF_8), noGuess, board, history, score,
+                ScoringPolicy.forId(scoringId));
+        board.getScoring().restore(scoringState);
+        return game;
+    }
+
+    private static void setBits(byte[] packed, int offset, long word, byte flag) {
+        while (word != 0) {
+            int bit = Long.numberOfTrailingZeros(word);
+            packed[offset + bit] |= flag;
+            word &= word - 1;
+        }
+    }
+
+    private static int[] getRuns(ByteBuffer buf) {
+        int[] runs = new int[buf.getInt()];
+        buf.asIntBuffer().get(runs);
+        buf.position(buf.position() + runs.length * 4);
+        return runs;
+    }
+}
@@ -0,0 +1,51 @@
+package minesweeper;
+
+import java.util.function.Function;
+
+/**
+ * Scores moves while the board applies them. For each reveal, revealAndFlag or toggleFlag
+ * the board calls begin, then one callback per changed cell, then end, whose result is
+ * the move's points; nothing walks the move's cells a second time. A policy belongs to
+ * one board and is only called from the thread making moves.
+ */
+public interface ScoringPolicy {
+    /** A move on board is starting */
+    void begin(Board board);
+
+    /** Cell index was revealed; mine tells whether it held one */
+    void revealed(int index, boolean mine);
+
+    /** Cell index was flagged */
+    void flagged(int index, boolean mine);
+
+    /** Cell index was unflagged */
+    default void unflagged(int index, boolean mine) {}
+
+    /** The move is complete; returns its points */
+    int end(GameStatus prevStatus, GameStatus nextStatus);
+
+    /** Saved with games and journals so they load with the same rules, see forId */
+    default int id() { return ClassicScoring.ID; }
+
+    /**
+     * State carried from move to move, such as a click count, kept with board snapshots
+     * and save files; 0 means a fresh game
+     */
+    default long state() { return 0; }
+
+    /** Returns to a value from state() when the board goes back to a snapshot or save */
+    default void restore(long state) {}
+
+    /**
+     * Policy factory for a saved id. A time bonus comes back with the difficulty's par
+     * (TimeBonusScoring.forDifficulty) whatever par it was played with.
+     */
+    static Function<Difficulty, ScoringPolicy> forId(int id) {
+        switch (id) {
+            case ClassicScoring.ID: return d -> new ClassicScoring();
+            case TimeBonusScoring.ID: return TimeBonusScoring::forDifficulty;
+            case EfficiencyScoring.ID: return d -> new EfficiencyScoring();
+            default: throw new IllegalArgumentException("Invalid scoring policy " + id);
+        }
+    }
+}
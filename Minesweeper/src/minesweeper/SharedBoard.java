@@ -0,0 +1,159 @@
+package minesweeper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Board for cooperative play: any number of threads may reveal and flag at once. Every
+ * cell's revealed and flagged bits change by compare-and-set on the packed byte, so a
+ * flood fill claims each cell it opens and two fills that meet (across any region
+ * boundary) simply stop where the other already claimed. There is no global lock and no
+ * lock per region; players in different areas only share the safe-cell counter, which
+ * is a LongAdder.
+ *
+ * Differences from Board: no first-click protection (moving mines would race with other
+ * players), no scoring and no undo. Listeners are called on whichever thread made the
+ * move and must be thread-safe. A move that was already under way when the game ended
+ * still completes.
+ */
+public class SharedBoard {
+    private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final long seed;
+    private final byte[] cells;
+    private final LongAdder unrevealedSafe = new LongAdder();
+    private final AtomicReference<GameStatus> status = new AtomicReference<>(GameStatus.RUNNING);
+    private final List<BoardListener> listeners = new CopyOnWriteArrayList<>();
+    // Builders and flood stacks are reused per thread, never shared
+    private final ThreadLocal<DeltaBatch.Builder> builders = ThreadLocal.withInitial(DeltaBatch.Builder::new);
+    private final ThreadLocal<int[][]> stacks = ThreadLocal.withInitial(() -> new int[][]{new int[64]});
+
+    public SharedBoard(int rows, int cols, int mines, long seed) {
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("Invalid size");
+        if ((long) rows * cols > Integer.MAX_VALUE) throw new IllegalArgumentException("Board too large");
+        if (mines < 0 || mines >= rows * cols) throw new IllegalArgumentException("Invalid mines");
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.seed = seed;
+        this.cells = new byte[rows * cols];
+        Board.placeMines(cells, mines, new SplittableRandom(seed));
+        Board.computeAdjacency(cells, rows, cols);
+        unrevealedSafe.add((long) rows * cols - mines);
+    }
+
+    public int rows() { return rows; }
+    public int cols() { return cols; }
+    public int mines() { return mines; }
+    public long seed() { return seed; }
+    public GameStatus status() { return status.get(); }
+    public Cell cell(int r, int c) { return inBounds(r, c) ? new Cell(r, c, stateAt(r * cols + c)) : null; }
+
+    /** Safe cells still hidden; exact once no move is in flight */
+    public long unrevealedSafe() { return unrevealedSafe.sum(); }
+
+    byte stateAt(int index) { return (byte) CELL.getVolatile(cells, index); }
+
+    private boolean inBounds(int r, int c) {
+        return r >= 0 && r < rows && c >= 0 && c < cols;
+    }
+
+    /** Claims cell i for revealing; fails if it is already revealed or flagged */
+    private boolean claimReveal(int i) {
+        byte b = (byte) CELL.getVolatile(cells, i);
+        while ((b & (Cell.REVEALED | Cell.FLAGGED)) == 0) {
+            byte witness = (byte) CELL.compareAndExchange(cells, i, b, (byte) (b | Cell.REVEALED));
+            if (witness == b) return true;
+            b = witness;
+        }
+        return false;
+    }
+
+    public DeltaBatch reveal(int r, int c) {
+        if (status.get() != GameStatus.RUNNING) return DeltaBatch.EMPTY;
+        if (!inBounds(r, c)) return DeltaBatch.EMPTY;
+        int start = r * cols + c;
+        if (!claimReveal(start)) return DeltaBatch.EMPTY;
+
+        DeltaBatch.Builder deltas = builders.get().clear();
+        deltas.revealed(start);
+        // Mine and adjacency bits never change after construction, so plain reads are safe
+        if ((cells[start] & Cell.MINE) != 0) {
+            status.compareAndSet(GameStatus.RUNNING, GameStatus.LOST);
+            return publish(deltas.build(GameStatus.RUNNING, status.get()));
+        }
+
+        // DFS over zeros; a neighbour is pushed only by the thread that claimed it
+        int[][] holder = stacks.get();
+        int[] stack = holder[0];
+        int top = 0, opened = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int cur = stack[--top];
+            opened++;
+            if ((cells[cur] & Cell.ADJ_MASK) != 0) continue;
+            int cr = cur / cols, cc = cur % cols;
+            int r0 = Math.max(0, cr - 1), r1 = Math.min(rows - 1, cr + 1);
+            int c0 = Math.max(0, cc - 1), c1 = Math.min(cols - 1, cc + 1);
+            for (int rr = r0; rr <= r1; rr++) {
+                for (int nb = rr * cols + c0, end = rr * cols + c1; nb <= end; nb++) {
+                    if (!claimReveal(nb)) continue;
+                    deltas.revealed(nb);
+                    if (top == stack.length) holder[0] = stack = Arrays.copyOf(stack, stack.length * 2);
+                    stack[top++] = nb;
+                }
+            }
+        }
+        unrevealedSafe.add(-opened);
+
+        // The last opener always sees zero: its own decrement precedes its read of the sum
+        if (unrevealedSafe.sum() == 0) status.compareAndSet(GameStatus.RUNNING, GameStatus.WON);
+        return publish(deltas.build(GameStatus.RUNNING, status.get()));
+    }
+
+    public DeltaBatch toggleFlag(int r, int c) {
+        GameStatus s = status.get();
+        if (s != GameStatus.RUNNING) return DeltaBatch.EMPTY;
+        if (!inBounds(r, c)) return DeltaBatch.EMPTY;
+        int i = r * cols + c;
+        byte b = (byte) CELL.getVolatile(cells, i);
+        while (true) {
+            if ((b & Cell.REVEALED) != 0) return DeltaBatch.EMPTY;
+            byte witness = (byte) CELL.compareAndExchange(cells, i, b, (byte) (b ^ Cell.FLAGGED));
+            if (witness == b) break;
+            b = witness;
+        }
+        DeltaBatch.Builder deltas = builders.get().clear();
+        if ((b & Cell.FLAGGED) != 0) {
+            deltas.unflagged(i);
+        } else {
+            deltas.flagged(i);
+        }
+        return publish(deltas.build(s, s));
+    }
+
+    /** Listeners are called on the moving thread, concurrently with other players' moves */
+    public void addListener(BoardListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BoardListener listener) {
+        listeners.remove(listener);
+    }
+
+    private DeltaBatch publish(DeltaBatch batch) {
+        if (batch != DeltaBatch.EMPTY) {
+            for (BoardListener l : listeners) l.boardChanged(batch, false);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,131 @@
+package minesweeper;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Headless batch runner: plays many independent games through Game, History and the
+ * regular commands on a fork-join pool and reports throughput, win rate and scores.
+ *
+ * Usage: java Simulator [games per difficulty] [random|solver] [threads]
+ */
+public class Simulator {
+    /** Safety cap so a strategy that never ends a game cannot stall the run */
+    public static final int MAX_MOVES_PER_GAME = 100_000;
+
+    private final ForkJoinPool pool;
+
+    public Simulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Outcome of one batch of games on one difficulty */
+    public static class Report {
+        public final Difficulty difficulty;
+        public final int games;
+        public final long moves;
+        public final int wins;
+        public final long elapsedNanos;
+        private final int[] sortedScores;
+
+        Report(Difficulty difficulty, int games, long moves, int wins, long elapsedNanos, int[] scores) {
+            this.difficulty = difficulty;
+            this.games = games;
+            this.moves = moves;
+            this.wins = wins;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedScores = scores.clone();
+            Arrays.sort(sortedScores);
+        }
+
+        public double gamesPerSecond() { return games * 1e9 / elapsedNanos; }
+        public double movesPerSecond() { return moves * 1e9 / elapsedNanos; }
+        public double winRate() { return games == 0 ? 0 : (double) wins / games; }
+
+        /** Score at quantile q in [0, 1] */
+        public int scorePercentile(double q) {
+            if (sortedScores.length == 0) return 0;
+            int idx = (int) Math.min(sortedScores.length - 1, Math.floor(q * sortedScores.length));
+            return sortedScores[idx];
+        }
+
+        public double meanScore() {
+            return sortedScores.length == 0 ? 0 : Arrays.stream(sortedScores).average().orElse(0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s games=%d  %.0f games/s  %.0f moves/s  win=%.1f%%  score min/p50/p90/max=%d/%d/%d/%d mean=%.1f",
+                    difficulty.name(), games, gamesPerSecond(), movesPerSecond(), 100 * winRate(),
+                    scorePercentile(0), scorePercentile(0.5), scorePercentile(0.9), scorePercentile(1), meanScore());
+        }
+    }
+
+    /**
+     * Plays games on the pool; strategies are built per game from its index. Each worker
+     * thread resets one Game in place between games instead of allocating a new board.
+     */
+    public Report run(Difficulty difficulty, int games, LongFunction<Strategy> strategies) {
+        int[] scores = new int[games];
+        LongAdder moves = new LongAdder();
+        LongAdder wins = new LongAdder();
+        ThreadLocal<Game> reused = new ThreadLocal<>();
+        long start = System.nanoTime();
+        pool.submit(() -> IntStream.range(0, games).parallel().forEach(i -> {
+            Game game = reused.get();
+            if (game == null) {
+                game = new Game(difficulty, "sim");
+                reused.set(game);
+            } else {
+                game.reset(difficulty);
+            }
+            Strategy strategy = strategies.apply(i);
+            int played = play(game, strategy);
+            moves.add(played);
+            if (game.getBoard().status() == GameStatus.WON) wins.increment();
+            scores[i] = game.getScore();
+        })).join();
+        long elapsed = System.nanoTime() - start;
+        return new Report(difficulty, games, moves.sum(), wins.intValue(), elapsed, scores);
+    }
+
+    /** Plays one game to completion and returns the number of moves executed */
+    static int play(Game game, Strategy strategy) {
+        int moves = 0;
+        History history = game.getHistory();
+        while (game.getBoard().status() == GameStatus.RUNNING && moves < MAX_MOVES_PER_GAME) {
+            Command cmd = strategy.nextMove(game);
+            if (cmd == null) break;
+            history.execute(game.getBoard(), game, cmd);
+            moves++;
+        }
+        return moves;
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        String kind = args.length > 1 ? args[1] : "solver";
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        LongFunction<Strategy> strategies;
+        switch (kind) {
+            case "random": strategies = RandomStrategy::new; break;
+            case "solver": strategies = SolverStrategy::new; break;
+            default: throw new IllegalArgumentException("Unknown strategy: " + kind);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Simulator sim = new Simulator(pool);
+            System.out.println("Strategy " + kind + ", " + threads + " threads");
+            for (Difficulty d : Difficulty.values()) {
+                System.out.println(sim.run(d, games, strategies));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
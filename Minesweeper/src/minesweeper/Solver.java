@@ -0,0 +1,254 @@
+package minesweeper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Logical solver that deduces certain-safe and certain-mine cells from the revealed numbers.
+ * It keeps the frontier (revealed numbered cells that still touch unknown cells) and is fed
+ * the batch of every move, so each update only re-examines cells near what changed.
+ * Player flags are ignored: only deduced mines count as known.
+ */
+public class Solver implements BoardListener {
+    private final Board board;
+    private final int rows;
+    private final int cols;
+
+    private final Set<Integer> frontier = new HashSet<>();
+    private final Set<Integer> knownMines = new HashSet<>();
+    private final Set<Integer> knownSafe = new HashSet<>();
+
+    private final Deque<Integer> dirty = new ArrayDeque<>();
+    private final Set<Integer> queued = new HashSet<>();
+
+    /**
+     * Attach before the first move; later moves must be passed to {@link #update}, e.g. by
+     * subscribing the solver with {@link Board#addListener}.
+     */
+    public Solver(Board board) {
+        this.board = board;
+        this.rows = board.rows();
+        this.cols = board.cols();
+    }
+
+    /** A single certain move: reveal (row, col) if safe, flag it if mine. */
+    public static class Hint {
+        public final int row;
+        public final int col;
+        public final boolean mine;
+
+        Hint(int row, int col, boolean mine) {
+            this.row = row;
+            this.col = col;
+            this.mine = mine;
+        }
+    }
+
+    /**
+     * Folds one applied (or, when reverted is true, undone) batch into the solver state.
+     * Undo drops every deduction, since some may rest on numbers that are hidden again,
+     * and re-derives them from the current frontier plus every number next to a cell that
+     * was known: those numbers may have left the frontier only because of that knowledge.
+     */
+    public void update(DeltaBatch batch, boolean reverted) {
+        if (reverted) {
+            for (int i : knownMines) markNeighboursDirty(i);
+            for (int i : knownSafe) markNeighboursDirty(i);
+            knownMines.clear();
+            knownSafe.clear();
+            batch.forEachRevealed(i -> {
+                frontier.remove(i);
+                markNeighboursDirty(i);
+            });
+            for (int i : frontier) markDirty(i);
+        } else {
+            batch.forEachRevealed(i -> {
+                knownSafe.remove(i);
+                markDirty(i);
+                markNeighboursDirty(i);
+            });
+        }
+        propagate();
+    }
+
+    @Override
+    public void boardChanged(DeltaBatch batch, boolean reverted) {
+        update(batch, reverted);
+    }
+
+    @Override
+    public void boardRestored() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the frontier from scratch; needed when the board was replaced wholesale,
+     * e.g. restored from a History checkpoint. This is the only full-board scan.
+     */
+    public void rebuild() {
+        frontier.clear();
+        knownMines.clear();
+        knownSafe.clear();
+        for (int i = 0, n = rows * cols; i < n; i++) {
+            if (revealed(i)) markDirty(i);
+        }
+        propagate();
+    }
+
+    public boolean isKnownMine(int r, int c) { return knownMines.contains(r * cols + c); }
+    public boolean isKnownSafe(int r, int c) { return knownSafe.contains(r * cols + c); }
+    public int frontierSize() { return frontier.size(); }
+
+    /** The first actionable hint, or null when nothing can be deduced */
+    public Hint hint() {
+        List<Hint> all = hints();
+        return all.isEmpty() ? null : all.get(0);
+    }
+
+    /** All actionable deductions: unrevealed safe cells first, then unflagged mines */
+    public List<Hint> hints() {
+        List<Hint> out = new ArrayList<>();
+        for (int i : safeCells()) out.add(new Hint(i / cols, i % cols, false));
+        for (int i : mineCells()) out.add(new Hint(i / cols, i % cols, true));
+        return out;
+    }
+
+    /** Known-safe cells that can still be revealed (not revealed, not flagged) */
+    int[] safeCells() {
+        return knownSafe.stream().mapToInt(Integer::intValue)
+                .filter(i -> (board.stateAt(i) & (Cell.REVEALED | Cell.FLAGGED)) == 0)
+                .sorted().toArray();
+    }
+
+    /** Known mines that are not flagged yet */
+    int[] mineCells() {
+        return knownMines.stream().mapToInt(Integer::intValue)
+                .filter(i -> (board.stateAt(i) & (Cell.REVEALED | Cell.FLAGGED)) == 0)
+                .sorted().toArray();
+    }
+
+    private boolean revealed(int i) {
+        return (board.stateAt(i) & Cell.REVEALED) != 0;
+    }
+
+    private void markDirty(int i) {
+        if (queued.add(i)) dirty.add(i);
+    }
+
+    private void markNeighboursDirty(int i) {
+        int r = i / cols, c = i % cols;
+        for (int rr = Math.max(0, r - 1); rr <= Math.min(rows - 1, r + 1); rr++) {
+            for (int cc = Math.max(0, c - 1); cc <= Math.min(cols - 1, c + 1); cc++) {
+                int nb = rr * cols + cc;
+                if (nb != i && revealed(nb)) markDirty(nb);
+            }
+        }
+    }
+
+    private void propagate() {
+        while (!dirty.isEmpty()) {
+            int i = dirty.poll();
+            queued.remove(i);
+            examine(i);
+        }
+    }
+
+    /** Applies the single-cell rules, then the subset rule against nearby frontier cells */
+    private void examine(int i) {
+        byte state = board.stateAt(i);
+        if ((state & Cell.REVEALED) == 0 || (state & Cell.MINE) != 0) {
+            frontier.remove(i);
+            return;
+        }
+        int r = i / cols, c = i % cols;
+        long unknown = unknownMask(r, c, 0, 0);
+        if (unknown == 0) {
+            frontier.remove(i);
+            return;
+        }
+        frontier.add(i);
+        int remaining = (state & Cell.ADJ_MASK) - knownMineCount(r, c);
+        int count = Long.bitCount(unknown);
+        if (remaining == 0) {
+            learn(r, c, unknown, false);
+            return;
+        }
+        if (remaining == count) {
+            learn(r, c, unknown, true);
+            return;
+        }
+
+        for (int dr = -2; dr <= 2; dr++) {
+            for (int dc = -2; dc <= 2; dc++) {
+                int zr = r + dr, zc = c + dc;
+                if ((dr == 0 && dc == 0) || zr < 0 || zr >= rows || zc < 0 || zc >= cols) continue;
+                int z = zr * cols + zc;
+                if (!frontier.contains(z)) continue;
+                long other = unknownMask(zr, zc, dr, dc);
+                if (other == 0) continue;
+                int otherRemaining = (board.stateAt(z) & Cell.ADJ_MASK) - knownMineCount(zr, zc);
+                if (subsetRule(r, c, other, otherRemaining, unknown, remaining)) return;
+                if (subsetRule(r, c, unknown, remaining, other, otherRemaining)) return;
+            }
+        }
+    }
+
+    /** If small is a subset of big, the cells only in big hold exactly bigMines - smallMines mines */
+    private boolean subsetRule(int r, int c, long small, int smallMines, long big, int bigMines) {
+        if ((small & ~big) != 0 || small == big) return false;
+        long rest = big & ~small;
+        int restMines = bigMines - smallMines;
+        if (restMines == 0) {
+            learn(r, c, rest, false);
+            return true;
+        }
+        if (restMines == Long.bitCount(rest)) {
+            learn(r, c, rest, true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Unknown neighbours of (r, c) as bits in a 7x7 window centred on the cell being examined;
+     * (offR, offC) is the offset of (r, c) from that centre.
+     */
+    private long unknownMask(int r, int c, int offR, int offC) {
+        long mask = 0;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int rr = r + dr, cc = c + dc;
+                if ((dr == 0 && dc == 0) || rr < 0 || rr >= rows || cc < 0 || cc >= cols) continue;
+                int nb = rr * cols + cc;
+                if (revealed(nb) || knownMines.contains(nb) || knownSafe.contains(nb)) continue;
+                mask |= 1L << ((offR + dr + 3) * 7 + (offC + dc + 3));
+            }
+        }
+        return mask;
+    }
+
+    private int knownMineCount(int r, int c) {
+        int count = 0;
+        for (int rr = Math.max(0, r - 1); rr <= Math.min(rows - 1, r + 1); rr++) {
+            for (int cc = Math.max(0, c - 1); cc <= Math.min(cols - 1, c + 1); cc++) {
+                if (knownMines.contains(rr * cols + cc)) count++;
+            }
+        }
+        return count;
+    }
+
+    /** Records every cell in the window mask as mine or safe and requeues the numbers around them */
+    private void learn(int r, int c, long mask, boolean mine) {
+        while (mask != 0) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            int i = (r + bit / 7 - 3) * cols + (c + bit % 7 - 3);
+            if (mine ? knownMines.add(i) : knownSafe.add(i)) markNeighboursDirty(i);
+        }
+        markDirty(r * cols + c);
+    }
+}
@@ -0,0 +1,20 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+
+/** Plays every forced move the Solver finds and guesses a random hidden cell when stuck. */
+public class SolverStrategy implements Strategy {
+    private final SplittableRandom rnd;
+
+    public SolverStrategy(long seed) {
+        this.rnd = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Command nextMove(Game game) {
+        Solver solver = game.attachSolver();
+        if (solver.hint() != null) return new AutoSolveCommand(solver);
+        int[] cell = RandomStrategy.randomHidden(game.getBoard(), rnd);
+        return cell == null ? null : new RevealCommand(cell[0], cell[1]);
+    }
+}
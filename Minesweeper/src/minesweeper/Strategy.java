@@ -0,0 +1,10 @@
+package minesweeper;
+
+/**
+ * Decides the next move for a headless player. Strategies are used by one game at a time,
+ * so implementations may keep per-game state.
+ */
+public interface Strategy {
+    /** The next command to execute, or null to stop playing this game */
+    Command nextMove(Game game);
+}
@@ -0,0 +1,37 @@
+package minesweeper;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Waits that must finish even when the caller is interrupted, e.g. handing an event over
+ * or draining a worker on close. The interrupt is re-asserted once the wait is done.
+ */
+final class Threads {
+    private Threads() {}
+
+    static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    static <E> void putUninterruptibly(BlockingQueue<E> queue, E element) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(element);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+}
@@ -0,0 +1,154 @@
+package minesweeper;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cells in fixed-size tiles that are shared copy-on-write between forks. A copy only
+ * shares the tile table, so it is O(1); after that, whichever side writes a tile first
+ * clones it (and, once, the table). Each store writes in place only the tiles stamped
+ * with its own generation, and every fork gets a fresh generation, so no tile reachable
+ * from another store is ever modified.
+ *
+ * Frozen stores never write; forking one leaves it untouched, so a frozen store can be
+ * forked from any number of threads.
+ */
+final class TiledCellStore extends CellStore {
+    static final int TILE_BITS = 12;
+    static final int TILE_SIZE = 1 << TILE_BITS;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private final int length;
+    private final boolean frozen;
+    private byte[][] tiles;
+    // Generation allowed to write each tile in place
+    private long[] owner;
+    // The tile table and owner stamps are still shared with another store
+    private boolean sharedTable;
+    private long generation;
+
+    private TiledCellStore(int length, byte[][] tiles, long[] owner, boolean sharedTable, boolean frozen) {
+        this.length = length;
+        this.tiles = tiles;
+        this.owner = owner;
+        this.sharedTable = sharedTable;
+        this.frozen = frozen;
+        this.generation = GENERATIONS.incrementAndGet();
+    }
+
+    /** Tiled copy of flat cells */
+    static TiledCellStore of(byte[] cells) {
+        int count = (cells.length + TILE_SIZE - 1) >>> TILE_BITS;
+        byte[][] tiles = new byte[count][];
+        long[] owner = new long[count];
+        TiledCellStore store = new TiledCellStore(cells.length, tiles, owner, false, false);
+        for (int t = 0; t < count; t++) {
+            int from = t << TILE_BITS;
+            tiles[t] = new byte[TILE_SIZE];
+            System.arraycopy(cells, from, tiles[t], 0, Math.min(TILE_SIZE, cells.length - from));
+            owner[t] = store.generation;
+        }
+        return store;
+    }
+
+    @Override
+    byte get(int i) { return tiles[i >>> TILE_BITS][i & TILE_MASK]; }
+
+    @Override
+    void set(int i, byte value) {
+        int t = i >>> TILE_BITS;
+        byte[] tile = tiles[t];
+        if (tile[i & TILE_MASK] == value) return;
+        if (frozen) throw new IllegalStateException("Frozen cells");
+        if (owner[t] != generation) {
+            if (sharedTable) {
+                tiles = tiles.clone();
+                owner = owner.clone();
+                sharedTable = false;
+            }
+            tile = tiles[t] = tile.clone();
+            owner[t] = generation;
+        }
+        tile[i & TILE_MASK] = value;
+    }
+
+    /** O(1) fork; both this store and the fork copy tiles before writing them from now on */
+    @Override
+    TiledCellStore copy() {
+        release();
+        return new TiledCellStore(length, tiles, owner, true, false);
+    }
+
+    /** O(1) read-only fork */
+    TiledCellStore freeze() {
+        if (frozen) return this;
+        release();
+        return new TiledCellStore(length, tiles, owner, true, true);
+    }
+
+    // Gives up in-place writes to every tile this store holds, now that they are shared
+    private void release() {
+        if (frozen) return;
+        sharedTable = true;
+        generation = GENERATIONS.incrementAndGet();
+    }
+
+    boolean isFrozen() { return frozen; }
+
+    /**
+     * Every tile, each owned by this store so it may be written directly, e.g. by
+     * ParallelFlood. Tiles still shared with a fork are copied first.
+     */
+    byte[][] writableTiles() {
+        if (frozen) throw new IllegalStateException("Frozen cells");
+        if (sharedTable) {
+            tiles = tiles.clone();
+            owner = owner.clone();
+            sharedTable = false;
+        }
+        for (int t = 0; t < tiles.length; t++) {
+            if (owner[t] != generation) {
+                tiles[t] = tiles[t].clone();
+                owner[t] = generation;
+            }
+        }
+        return tiles;
+    }
+
+    /** Flat copy of every cell */
+    byte[] toArray() {
+        byte[] out = new byte[length];
+        for (int t = 0; t < tiles.length; t++) {
+            int from = t << TILE_BITS;
+            System.arraycopy(tiles[t], 0, out, from, Math.min(TILE_SIZE, length - from));
+        }
+        return out;
+    }
+
+    /** Tiles this store has copied for itself since it was forked */
+    int ownedTiles() {
+        int n = 0;
+        for (long o : owner) if (o == generation) n++;
+        return n;
+    }
+
+    /** Counts every tile, shared or not; forks share most of this */
+    @Override
+    long retainedBytes() {
+        return 48 + tiles.length * (16L + 8 + 8 + TILE_SIZE);
+    }
+
+    /** Counts only the tiles (and tables) that are not the very ones base holds */
+    @Override
+    long retainedBytesBeyond(CellStore base) {
+        if (!(base instanceof TiledCellStore)) return retainedBytes();
+        TiledCellStore other = (TiledCellStore) base;
+        long bytes = 48;
+        if (tiles != other.tiles) bytes += tiles.length * 8L;
+        if (owner != other.owner) bytes += tiles.length * 8L;
+        for (int t = 0; t < tiles.length; t++) {
+            if (t >= other.tiles.length || tiles[t] != other.tiles[t]) bytes += 16 + TILE_SIZE;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,42 @@
+package minesweeper;
+
+/**
+ * Classic scoring plus a bonus for finishing under par: winning earns POINTS_PER_SECOND
+ * for every whole second left. The clock starts with the first scored move.
+ */
+public class TimeBonusScoring extends ClassicScoring {
+    public static final int POINTS_PER_SECOND = 5;
+    static final int ID = 1;
+
+    private final long parNanos;
+    private long startNanos = -1;
+
+    public TimeBonusScoring(int parSeconds) {
+        if (parSeconds <= 0) throw new IllegalArgumentException("Invalid par time");
+        this.parNanos = parSeconds * 1_000_000_000L;
+    }
+
+    /** Par of one second per ten safe cells */
+    public static TimeBonusScoring forDifficulty(Difficulty d) {
+        return new TimeBonusScoring(Math.max(1, (d.rows() * d.cols() - d.mines()) / 10));
+    }
+
+    @Override
+    public int id() { return ID; }
+
+    @Override
+    public void begin(Board board) {
+        super.begin(board);
+        if (startNanos < 0) startNanos = System.nanoTime();
+    }
+
+    @Override
+    public int end(GameStatus prevStatus, GameStatus nextStatus) {
+        int total = super.end(prevStatus, nextStatus);
+        if (nextStatus == GameStatus.WON && prevStatus != GameStatus.WON) {
+            long left = parNanos - (System.nanoTime() - startNanos);
+            if (left > 0) total += (int) (left / 1_000_000_000L) * POINTS_PER_SECOND;
+        }
+        return total;
+    }
+}
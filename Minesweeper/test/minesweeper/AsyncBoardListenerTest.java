@@ -0,0 +1,64 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncBoardListenerTest {
+    @Test
+    void interruptedMoverStillDeliversEveryEvent() {
+        Board board = new Board(20, 20, 40, 1);
+        AtomicInteger delivered = new AtomicInteger();
+        AsyncBoardListener async = board.addAsyncListener(new BoardListener() {
+            @Override
+            public void boardChanged(DeltaBatch batch, boolean reverted) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                delivered.incrementAndGet();
+            }
+
+            @Override
+            public void boardRestored() {}
+        }, 1);
+
+        Thread.currentThread().interrupt();
+        for (int i = 0; i < 50; i++) board.toggleFlag(0, i % 20);
+        async.close();
+
+        // Clears the flag for the next test as well as checking it survived
+        assertTrue(Thread.interrupted());
+        assertEquals(50, delivered.get());
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void throwingListenerIsReportedAndKeepsDraining() {
+        Board board = new Board(20, 20, 40, 1);
+        AtomicInteger delivered = new AtomicInteger();
+        List<RuntimeException> errors = new CopyOnWriteArrayList<>();
+        AsyncBoardListener async = board.addAsyncListener(new BoardListener() {
+            @Override
+            public void boardChanged(DeltaBatch batch, boolean reverted) {
+                if (delivered.incrementAndGet() % 2 == 0) throw new IllegalStateException("listener bug");
+            }
+
+            @Override
+            public void boardRestored() {}
+        }, 1, errors::add);
+
+        // Far more events than the queue holds; a dead worker would block this thread for good
+        for (int i = 0; i < 50; i++) board.toggleFlag(0, i % 20);
+        async.close();
+
+        assertEquals(50, delivered.get());
+        assertEquals(25, errors.size());
+    }
+}
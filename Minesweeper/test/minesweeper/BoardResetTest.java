@@ -0,0 +1,95 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static minesweeper.Boards.cells;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardResetTest {
+    private static void playSome(Board board) {
+        for (int i = 0; i < board.rows() * board.cols(); i += 7) {
+            if ((board.stateAt(i) & Cell.MINE) == 0) board.reveal(i / board.cols(), i % board.cols());
+            else board.toggleFlag(i / board.cols(), i % board.cols());
+            if (board.status() != GameStatus.RUNNING) break;
+        }
+    }
+
+    @Test
+    void resetDealsTheSameLayoutAsANewBoard() {
+        Board board = new Board(16, 30, 99, 1);
+        AtomicInteger restored = new AtomicInteger();
+        board.addListener(new BoardListener() {
+            @Override
+            public void boardChanged(DeltaBatch batch, boolean reverted) {}
+
+            @Override
+            public void boardRestored() {
+                restored.incrementAndGet();
+            }
+        });
+        for (long seed = 2; seed < 12; seed++) {
+            playSome(board);
+            board.reset(seed);
+            assertArrayEquals(cells(new Board(16, 30, 99, seed)), cells(board));
+            assertEquals(seed, board.seed());
+            assertEquals(GameStatus.RUNNING, board.status());
+            assertEquals(seed - 1, restored.get());
+        }
+        // First-click protection is back after a reset
+        int mine = 0;
+        while ((board.stateAt(mine) & Cell.MINE) == 0) mine++;
+        board.reveal(mine / 30, mine % 30);
+        assertNotEquals(GameStatus.LOST, board.status());
+        BoardTest.assertConsistent(board);
+    }
+
+    @Test
+    void tiledBoardsStayTiledAndLeaveSnapshotsAlone() {
+        Board board = new Board(64, 64, 500, 3);
+        playSome(board);
+        BoardSnapshot before = board.freeze();
+        byte[] frozen = cells(board);
+        board.reset(4);
+        assertArrayEquals(cells(new Board(64, 64, 500, 4)), cells(board));
+        for (int i = 0; i < frozen.length; i++) {
+            assertEquals(new Cell(i / 64, i % 64, frozen[i]).isRevealed(), before.cell(i / 64, i % 64).isRevealed());
+        }
+        // Still tiled, so freezing again shares instead of copying
+        BoardSnapshot after = board.freeze();
+        assertTrue(after.isFirstMove());
+        assertFalse(after.cell(0, 0).isRevealed());
+    }
+
+    @Test
+    void chunkedBoardsCannotBeReset() {
+        Board board = Board.chunked(256, 256, 0.1, 1);
+        assertThrows(IllegalArgumentException.class, () -> board.reset(2));
+    }
+
+    @Test
+    void gameResetReusesTheBoardForTheSameDifficulty() {
+        Game game = new Game(Difficulty.NORMAL, "reset");
+        Board board = game.getBoard();
+        Solver solver = game.attachSolver();
+        Boards.play(game, 5, 40);
+        game.reset(Difficulty.NORMAL);
+        assertSame(board, game.getBoard());
+        assertSame(solver, game.getSolver());
+        assertEquals(0, game.getScore());
+        assertEquals(0, game.getHistory().position());
+        assertEquals(GameStatus.RUNNING, board.status());
+        for (int i = 0; i < board.rows() * board.cols(); i++) assertEquals(0, board.stateAt(i) & Cell.REVEALED);
+        SolverTest.assertMatchesRebuild(solver, board);
+
+        // The kept solver follows the new board
+        Boards.play(game, 6, 40);
+        SolverTest.assertMatchesRebuild(solver, board);
+
+        game.reset(Difficulty.HARD);
+        assertNotSame(board, game.getBoard());
+        assertEquals(Difficulty.HARD.rows(), game.getBoard().rows());
+        SolverTest.assertMatchesRebuild(game.getSolver(), game.getBoard());
+    }
+}
@@ -0,0 +1,52 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSnapshotTest {
+    static byte[] cells(BoardSnapshot snapshot) {
+        byte[] out = new byte[snapshot.rows() * snapshot.cols()];
+        for (int i = 0; i < out.length; i++) out[i] = snapshot.stateAt(i);
+        return out;
+    }
+
+    @Test
+    void applyFollowsTheBoard() {
+        Board board = new Board(16, 30, 99, 5);
+        board.reveal(8, 15);
+        BoardSnapshot before = board.freeze();
+        byte[] original = cells(before);
+        assertFalse(before.isFirstMove());
+
+        BoardSnapshot after = before;
+        for (int i = 0; i < 16 * 30 && board.status() == GameStatus.RUNNING; i += 7) {
+            if ((board.stateAt(i) & Cell.MINE) != 0) continue;
+            after = after.apply(board.reveal(i / 30, i % 30));
+        }
+        BoardSnapshot live = board.freeze();
+        assertArrayEquals(cells(live), cells(after));
+        assertEquals(live.status(), after.status());
+        assertEquals(live.unrevealedSafe(), after.unrevealedSafe());
+        assertArrayEquals(original, cells(before));
+    }
+
+    @Test
+    void firstRevealMustBeMadeOnABoard() {
+        Board board = new Board(16, 30, 99, 5);
+        BoardSnapshot fresh = board.freeze();
+        DeltaBatch flag = board.toggleFlag(0, 0);
+        DeltaBatch first = board.reveal(8, 15);
+
+        BoardSnapshot flagged = fresh.apply(flag);
+        assertTrue(flagged.isFirstMove());
+        assertThrows(IllegalArgumentException.class, () -> flagged.apply(first));
+
+        // Revealing on a board forked from the snapshot moves mines as usual
+        Board fork = fresh.toBoard();
+        fork.reveal(8, 15);
+        BoardSnapshot played = fork.freeze();
+        assertFalse(played.isFirstMove());
+        assertEquals(0, played.stateAt(8 * 30 + 15) & Cell.MINE);
+    }
+}
@@ -0,0 +1,192 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static minesweeper.Boards.cells;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardTest {
+    /** Every mine counted once and every adjacency count matching its neighbours */
+    static void assertConsistent(Board board) {
+        int rows = board.rows(), cols = board.cols(), mines = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int expected = 0;
+                for (int rr = Math.max(0, r - 1); rr <= Math.min(rows - 1, r + 1); rr++) {
+                    for (int cc = Math.max(0, c - 1); cc <= Math.min(cols - 1, c + 1); cc++) {
+                        if ((rr != r || cc != c) && board.cell(rr, cc).hasMine()) expected++;
+                    }
+                }
+                Cell cell = board.cell(r, c);
+                assertEquals(expected, cell.getAdjacent(), "adjacency at " + r + "," + c);
+                if (cell.hasMine()) mines++;
+            }
+        }
+        assertEquals(board.mines(), mines);
+    }
+
+    @Test
+    void packedCellsDecodeToTheirState() {
+        Board board = new Board(16, 30, 99, 11);
+        assertConsistent(board);
+        assertNull(board.cell(-1, 0));
+        assertNull(board.cell(0, 30));
+
+        board.toggleFlag(2, 3);
+        Cell flagged = board.cell(2, 3);
+        assertTrue(flagged.isFlagged());
+        assertFalse(flagged.isRevealed());
+        assertEquals(2, flagged.row);
+        assertEquals(3, flagged.col);
+        board.toggleFlag(2, 3);
+        assertFalse(board.cell(2, 3).isFlagged());
+
+        board.reveal(8, 15);
+        Cell opened = board.cell(8, 15);
+        assertTrue(opened.isRevealed());
+        assertFalse(opened.hasMine());
+        byte state = board.stateAt(8 * 30 + 15);
+        assertEquals(opened.getAdjacent(), state & Cell.ADJ_MASK);
+    }
+
+    @Test
+    void rejectsInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new Board(0, 5, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Board(5, 5, 25, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Board(5, 5, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Board(1 << 16, 1 << 16, 1, 1));
+    }
+
+    @Test
+    void flagsBlockReveals() {
+        Board board = new Board(9, 9, 10, 4);
+        board.toggleFlag(4, 4);
+        assertTrue(board.reveal(4, 4).isEmpty());
+        assertArrayEquals(cells(new Board(9, 9, 10, 4)), clearFlags(cells(board)));
+    }
+
+    /** Cells a reveal at start should open: a plain BFS that expands through zeros and stops at flags */
+    static BitSet expectedFill(Board board, int start) {
+        int rows = board.rows(), cols = board.cols();
+        BitSet open = new BitSet();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        open.set(start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int i = queue.poll();
+            if ((board.stateAt(i) & (Cell.ADJ_MASK | Cell.MINE)) != 0) continue;
+            int r = i / cols, c = i % cols;
+            for (int rr = Math.max(0, r - 1); rr <= Math.min(rows - 1, r + 1); rr++) {
+                for (int cc = Math.max(0, c - 1); cc <= Math.min(cols - 1, c + 1); cc++) {
+                    int nb = rr * cols + cc;
+                    if (open.get(nb) || (board.stateAt(nb) & (Cell.REVEALED | Cell.FLAGGED)) != 0) continue;
+                    open.set(nb);
+                    queue.add(nb);
+                }
+            }
+        }
+        return open;
+    }
+
+    @Test
+    void floodFillOpensExactlyTheZeroRegion() {
+        // Sparse boards give fills far larger than the initial work queue
+        for (long seed = 1; seed <= 6; seed++) {
+            Board board = new Board(300, 300, 900, seed);
+            for (int c = 0; c < 300; c += 2) board.toggleFlag(150, c);
+            // Spend the first move (and its mine relocation) on a numbered cell, which opens alone
+            int first = 0;
+            while ((board.stateAt(first) & Cell.MINE) != 0 || (board.stateAt(first) & Cell.ADJ_MASK) == 0) first++;
+            board.reveal(first / 300, first % 300);
+            int start = 299 * 300 + 299;
+            while ((board.stateAt(start) & (Cell.MINE | Cell.ADJ_MASK | Cell.REVEALED | Cell.FLAGGED)) != 0) start--;
+            BitSet expected = expectedFill(board, start);
+
+            DeltaBatch batch = board.reveal(start / 300, start % 300);
+            BitSet actual = new BitSet();
+            batch.forEachRevealed(actual::set);
+            assertEquals(expected, actual);
+            assertEquals(expected.cardinality(), batch.revealedCount());
+            for (int i = expected.nextSetBit(0); i >= 0; i = expected.nextSetBit(i + 1)) {
+                assertNotEquals(0, board.stateAt(i) & Cell.REVEALED);
+            }
+        }
+    }
+
+    @Test
+    void firstClickIsNeverAMineAndCountsStayConsistent() {
+        for (long seed = 1; seed <= 200; seed++) {
+            Board board = new Board(9, 9, 30, seed);
+            int start = (int) (seed % 81);
+            board.reveal(start / 9, start % 9);
+            assertFalse(board.cell(start / 9, start % 9).hasMine());
+            assertNotEquals(GameStatus.LOST, board.status());
+            assertConsistent(board);
+        }
+    }
+
+    @Test
+    void safeOpeningClearsTheSquareAroundTheClick() {
+        for (long seed = 1; seed <= 100; seed++) {
+            Board board = new Board(16, 16, 60, seed);
+            board.setSafeOpening(true);
+            board.reveal(5, 7);
+            for (int r = 4; r <= 6; r++) {
+                for (int c = 6; c <= 8; c++) assertFalse(board.cell(r, c).hasMine());
+            }
+            assertEquals(0, board.cell(5, 7).getAdjacent());
+            assertConsistent(board);
+        }
+    }
+
+    @Test
+    void denseBoardStillClearsTheClickedCell() {
+        // Too few free cells to clear the whole opening
+        for (long seed = 1; seed <= 50; seed++) {
+            Board board = new Board(4, 4, 14, seed);
+            board.setSafeOpening(true);
+            board.reveal(1, 1);
+            assertFalse(board.cell(1, 1).hasMine());
+            assertTrue(board.cell(1, 1).isRevealed());
+            assertConsistent(board);
+        }
+    }
+
+    @Test
+    void seedsGiveReproducibleLayouts() {
+        assertArrayEquals(cells(new Board(30, 40, 200, 99)), cells(new Board(30, 40, 200, 99)));
+        assertFalse(Arrays.equals(cells(new Board(30, 40, 200, 99)), cells(new Board(30, 40, 200, 100))));
+        assertArrayEquals(cells(Board.fromDifficulty(Difficulty.HARD, 5)),
+                cells(new Board(Difficulty.HARD.rows(), Difficulty.HARD.cols(), Difficulty.HARD.mines(), 5)));
+    }
+
+    @Test
+    void placesExactlyTheRequestedMines() {
+        // Sparse and dense boards take different sampling paths
+        int[] counts = {0, 1, 50, 199, 200, 201, 350, 399};
+        for (int mines : counts) {
+            Board board = new Board(20, 20, mines, mines * 31L);
+            assertConsistent(board);
+        }
+    }
+
+    @Test
+    void placementIsRoughlyUniform() {
+        int[] hits = new int[100];
+        for (long seed = 0; seed < 4000; seed++) {
+            Board board = new Board(10, 10, 10, seed);
+            for (int i = 0; i < 100; i++) if ((board.stateAt(i) & Cell.MINE) != 0) hits[i]++;
+        }
+        // Each cell expects 400 hits; 6 standard deviations is about 110
+        for (int h : hits) assertTrue(Math.abs(h - 400) < 110, "hits " + h);
+    }
+
+    private static byte[] clearFlags(byte[] cells) {
+        for (int i = 0; i < cells.length; i++) cells[i] &= ~Cell.FLAGGED;
+        return cells;
+    }
+}
@@ -0,0 +1,45 @@
+package minesweeper;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Helpers shared by the tests */
+final class Boards {
+    private Boards() {}
+
+    /** Packed state of every cell */
+    static byte[] cells(Board board) {
+        byte[] out = new byte[board.rows() * board.cols()];
+        for (int i = 0; i < out.length; i++) out[i] = board.stateAt(i);
+        return out;
+    }
+
+    /** Plays moves moves on game, revealing only safe cells so it keeps running */
+    static void play(Game game, long seed, int moves) {
+        Random rnd = new Random(seed);
+        Board board = game.getBoard();
+        History history = game.getHistory();
+        for (int k = 0; k < moves && board.status() == GameStatus.RUNNING; k++) {
+            int r = rnd.nextInt(board.rows()), c = rnd.nextInt(board.cols());
+            boolean mine = (board.stateAt(r * board.cols() + c) & Cell.MINE) != 0;
+            Command cmd = mine || rnd.nextInt(3) == 0 ? new FlagCommand(r, c) : new RevealCommand(r, c);
+            history.execute(board, game, cmd);
+        }
+    }
+
+    static void assertSameGame(Game expected, Game actual) {
+        assertEquals(expected.getDifficulty(), actual.getDifficulty());
+        assertEquals(expected.getPlayerName(), actual.getPlayerName());
+        assertEquals(expected.isNoGuess(), actual.isNoGuess());
+        assertEquals(expected.getScore(), actual.getScore());
+        Board a = expected.getBoard(), b = actual.getBoard();
+        assertEquals(a.seed(), b.seed());
+        assertEquals(a.status(), b.status());
+        assertArrayEquals(cells(a), cells(b));
+        History h = expected.getHistory(), g = actual.getHistory();
+        assertEquals(h.firstMove(), g.firstMove());
+        assertEquals(h.position(), g.position());
+        assertEquals(h.lastMove(), g.lastMove());
+    }
+}
@@ -0,0 +1,68 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedBoardTest {
+    static final long CHUNK_BYTES = ChunkedCellStore.CHUNK * ChunkedCellStore.CHUNK;
+
+    /** Adjacency counts in rows and cols [from, to) match the mines around them */
+    static void assertConsistent(Board board, int from, int to) {
+        for (int r = from; r < to; r++) {
+            for (int c = from; c < to; c++) {
+                int expected = 0;
+                for (int rr = r - 1; rr <= r + 1; rr++) {
+                    for (int cc = c - 1; cc <= c + 1; cc++) {
+                        Cell nb = board.cell(rr, cc);
+                        if ((rr != r || cc != c) && nb != null && nb.hasMine()) expected++;
+                    }
+                }
+                assertEquals(expected, board.cell(r, c).getAdjacent(), "adjacency at " + r + "," + c);
+            }
+        }
+    }
+
+    @Test
+    void onlyTouchedChunksExist() {
+        Board board = Board.chunked(40_000, 40_000, 0.15, 3);
+        assertTrue(board.stateBytes() < CHUNK_BYTES);
+        board.reveal(20_000, 20_000);
+        // The chunk clicked, its neighbours and whatever the opening spread into
+        assertTrue(board.stateBytes() < 50 * CHUNK_BYTES);
+        assertTrue(board.cell(20_000, 20_000).isRevealed());
+    }
+
+    @Test
+    void layoutIsIndependentOfAccessOrder() {
+        Board a = Board.chunked(500, 500, 0.2, 8);
+        Board b = Board.chunked(500, 500, 0.2, 8);
+        assertEquals(a.mines(), b.mines());
+        // a is read top-down, b bottom-up
+        byte[] fromA = new byte[300 * 300];
+        for (int i = 0; i < fromA.length; i++) fromA[i] = a.stateAt((i / 300) * 500 + i % 300);
+        for (int i = fromA.length - 1; i >= 0; i--) {
+            assertEquals(fromA[i], b.stateAt((i / 300) * 500 + i % 300), "cell " + i);
+        }
+        assertConsistent(a, 0, 200);
+    }
+
+    @Test
+    void mineCountMatchesGeneratedChunks() {
+        Board board = Board.chunked(200, 170, 0.2, 4);
+        int mines = 0;
+        for (int r = 0; r < 200; r++) for (int c = 0; c < 170; c++) if (board.cell(r, c).hasMine()) mines++;
+        assertEquals(board.mines(), mines);
+    }
+
+    @Test
+    void firstClickOnAChunkCornerKeepsCountsRight() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Board board = Board.chunked(1000, 1000, 0.3, seed);
+            board.setSafeOpening(true);
+            board.reveal(ChunkedCellStore.CHUNK, ChunkedCellStore.CHUNK);
+            assertFalse(board.cell(ChunkedCellStore.CHUNK, ChunkedCellStore.CHUNK).hasMine());
+            assertConsistent(board, ChunkedCellStore.CHUNK - 3, ChunkedCellStore.CHUNK + 3);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaBatchTest {
+    @Test
+    void encodesCellsAsSortedRuns() {
+        DeltaBatch.Builder b = new DeltaBatch.Builder();
+        for (int i : new int[] {12, 3, 4, 5, 11, 10, 40}) b.revealed(i);
+        b.flagged(7);
+        DeltaBatch batch = b.build(GameStatus.RUNNING, GameStatus.RUNNING);
+
+        assertArrayEquals(new int[] {3, 3, 10, 3, 40, 1}, batch.revealedRuns());
+        assertArrayEquals(new int[] {7, 1}, batch.flaggedRuns());
+        assertEquals(7, batch.revealedCount());
+        assertEquals(8, batch.size());
+        List<Integer> order = new ArrayList<>();
+        batch.forEachRevealed(order::add);
+        assertEquals(List.of(3, 4, 5, 10, 11, 12, 40), order);
+    }
+
+    @Test
+    void roundTripsThroughRuns() {
+        Random rnd = new Random(5);
+        DeltaBatch.Builder b = new DeltaBatch.Builder();
+        for (int round = 0; round < 50; round++) {
+            TreeSet<Integer> revealed = new TreeSet<>(), flagged = new TreeSet<>();
+            b.clear();
+            // Enough cells to grow the builder's buffers past their starting size
+            for (int k = rnd.nextInt(500); k > 0; k--) {
+                int i = rnd.nextInt(2000);
+                if (revealed.add(i)) b.revealed(i);
+            }
+            for (int k = rnd.nextInt(20); k > 0; k--) {
+                int i = 2000 + rnd.nextInt(100);
+                if (flagged.add(i)) b.flagged(i);
+            }
+            DeltaBatch batch = b.build(GameStatus.RUNNING, GameStatus.WON);
+            DeltaBatch copy = DeltaBatch.fromRuns(batch.revealedRuns(), batch.flaggedRuns(),
+                    batch.unflaggedRuns(), batch.prevStatus, batch.nextStatus);
+
+            List<Integer> cells = new ArrayList<>();
+            copy.forEachRevealed(cells::add);
+            assertEquals(new ArrayList<>(revealed), cells);
+            cells.clear();
+            copy.forEachFlagged(cells::add);
+            assertEquals(new ArrayList<>(flagged), cells);
+            assertEquals(revealed.size(), copy.revealedCount());
+            assertEquals(GameStatus.WON, copy.nextStatus);
+        }
+    }
+
+    @Test
+    void contiguousFillsStayCompact() {
+        DeltaBatch.Builder b = new DeltaBatch.Builder();
+        for (int i = 0; i < 100_000; i++) b.revealed(i);
+        DeltaBatch batch = b.build(GameStatus.RUNNING, GameStatus.RUNNING);
+        assertEquals(2, batch.revealedRuns().length);
+        assertTrue(batch.retainedBytes() < 100);
+    }
+
+    @Test
+    void emptyMovesShareOneBatch() {
+        DeltaBatch.Builder b = new DeltaBatch.Builder();
+        assertSame(DeltaBatch.EMPTY, b.build(GameStatus.RUNNING, GameStatus.RUNNING));
+        assertNotSame(DeltaBatch.EMPTY, b.build(GameStatus.RUNNING, GameStatus.LOST));
+        assertTrue(new Board(5, 5, 3, 1).toggleFlag(9, 9).isEmpty());
+    }
+}
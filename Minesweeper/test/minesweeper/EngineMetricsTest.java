@@ -0,0 +1,36 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineMetricsTest {
+    @Test
+    void histogramKeepsExactMaxAndBoundedPercentiles() {
+        EngineMetrics.Histogram h = new EngineMetrics.Histogram();
+        assertEquals(0, h.max());
+        for (long v = 1; v <= 1000; v++) h.record(v);
+        h.record(123_457);
+
+        assertEquals(1001, h.count());
+        assertEquals(123_457, h.max());
+        long p50 = h.percentile(0.5);
+        assertTrue(p50 <= 501 && p50 >= 501 * 7 / 8, "p50 " + p50);
+        assertTrue(h.percentile(1.0) <= h.max());
+    }
+
+    @Test
+    void beanHasNoOperations() throws Exception {
+        EngineMetrics.register();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ReflectionException e = assertThrows(ReflectionException.class,
+                () -> server.invoke(new ObjectName(EngineMetrics.OBJECT_NAME), "reset", new Object[0], new String[0]));
+        assertInstanceOf(NoSuchMethodException.class, e.getCause());
+        assertEquals("reset", e.getCause().getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineTest {
+    @Test
+    void failedRequestIsReportedAndObserverStillRuns() {
+        Game game = new Game(Difficulty.EASY, "dave");
+        List<RuntimeException> errors = new CopyOnWriteArrayList<>();
+        AtomicBoolean updatedAfterError = new AtomicBoolean();
+        RuntimeException boom = new IllegalStateException("boom");
+        try (GameEngine engine = new GameEngine(game, g -> updatedAfterError.set(!errors.isEmpty()), errors::add)) {
+            engine.submit(g -> g.getHistory().execute(g.getBoard(), g, new FlagCommand(0, 0)));
+            engine.submit(g -> {
+                throw boom;
+            });
+        }
+        assertEquals(List.of(boom), errors);
+        assertTrue(updatedAfterError.get());
+        assertTrue((game.getBoard().stateAt(0) & Cell.FLAGGED) != 0);
+    }
+}
@@ -0,0 +1,97 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Timeout(value = 30, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+class GameServerTest {
+    @TempDir
+    Path dir;
+
+    /** One client connection speaking the line protocol */
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(GameServer server) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        String send(String request) throws IOException {
+            out.println(request);
+            String reply = in.readLine();
+            assertNotNull(reply, "connection closed after " + request);
+            return reply;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void playsAGameOverTheProtocol() throws IOException {
+        try (GameServer server = new GameServer(0, 2, null); Client client = new Client(server)) {
+            String[] created = client.send("NEW easy alice").split(" ");
+            assertEquals("OK", created[0]);
+            Difficulty d = Difficulty.EASY;
+            assertEquals(d.rows() + " " + d.cols() + " " + d.mines(), created[2] + " " + created[3] + " " + created[4]);
+            String id = created[1];
+            assertEquals(1, server.sessionCount());
+
+            // The first click is never a mine
+            assertTrue(client.send("REVEAL " + id + " 4 4").startsWith("OK RUNNING "));
+            assertTrue(client.send("FLAG " + id + " 0 0").startsWith("OK "));
+            assertEquals("OK RUNNING", client.send("UNDO " + id).substring(0, 10));
+            assertTrue(client.send("STATE " + id).matches("OK RUNNING -?\\d+ 1 2"));
+            assertEquals("OK", client.send("CLOSE " + id));
+            assertEquals(0, server.sessionCount());
+        }
+    }
+
+    @Test
+    void badRequestsFailAloneAndKeepTheConnection() throws IOException {
+        try (GameServer server = new GameServer(0, 2, null); Client client = new Client(server)) {
+            String id = client.send("NEW normal").split(" ")[1];
+            for (String bad : new String[]{"FOO 1", "NEW nope", "REVEAL", "REVEAL x 1 1", "REVEAL " + id + " 1",
+                    "STATE 9999", "TOP easy"}) {
+                assertTrue(client.send(bad).startsWith("ERR "), bad);
+            }
+            assertTrue(client.send("STATE " + id).startsWith("OK RUNNING "));
+        }
+    }
+
+    @Test
+    void failedRecordIsReportedAndTheConnectionStaysOpen() throws IOException {
+        Leaderboard leaderboard = Leaderboard.open(dir.resolve("board.msl"));
+        // Recording the finished game fails with a closed channel
+        leaderboard.close();
+        try (GameServer server = new GameServer(0, 2, leaderboard); Client client = new Client(server)) {
+            String id = client.send("NEW easy bob").split(" ")[1];
+            Difficulty d = Difficulty.EASY;
+            String reply = "";
+            for (int i = 0; i < d.rows() * d.cols() && !reply.startsWith("ERR"); i++) {
+                reply = client.send("REVEAL " + id + " " + i / d.cols() + " " + i % d.cols());
+            }
+            assertTrue(reply.startsWith("ERR "), reply);
+            assertFalse(client.send("STATE " + id).startsWith("OK RUNNING"));
+            assertEquals("OK", client.send("CLOSE " + id));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static minesweeper.Boards.cells;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryTest {
+    /** Plays up to moves safe moves, returning the cells and score after every move number */
+    static List<Object[]> playRecorded(Game game, long seed, int moves) {
+        Random rnd = new Random(seed);
+        Board board = game.getBoard();
+        History history = game.getHistory();
+        List<Object[]> states = new ArrayList<>();
+        states.add(new Object[] {cells(board), game.getScore()});
+        while (history.position() < moves && board.status() == GameStatus.RUNNING) {
+            int r = rnd.nextInt(board.rows()), c = rnd.nextInt(board.cols());
+            boolean mine = (board.stateAt(r * board.cols() + c) & Cell.MINE) != 0;
+            Command cmd = mine || rnd.nextInt(4) == 0 ? new FlagCommand(r, c) : new RevealCommand(r, c);
+            if (history.execute(board, game, cmd).isEmpty()) continue;
+            states.add(new Object[] {cells(board), game.getScore()});
+        }
+        return states;
+    }
+
+    static void assertAt(List<Object[]> states, Game game, int move) {
+        assertEquals(move, game.getHistory().position());
+        assertArrayEquals((byte[]) states.get(move)[0], cells(game.getBoard()), "cells at move " + move);
+        assertEquals(states.get(move)[1], game.getScore(), "score at move " + move);
+    }
+
+    static Game game(long budget, int interval) {
+        Difficulty d = Difficulty.HARD;
+        return new Game(d, "history", false, new Board(d.rows(), d.cols(), d.mines(), 17),
+                new History(budget, interval), 0, x -> new ClassicScoring());
+    }
+
+    @Test
+    void undoAndRedoRetraceEveryMove() {
+        Game game = game(History.DEFAULT_BUDGET_BYTES, 8);
+        List<Object[]> states = playRecorded(game, 1, 80);
+        History history = game.getHistory();
+        int last = history.position();
+        while (history.canUndo()) {
+            history.undo(game.getBoard(), game);
+            assertAt(states, game, history.position());
+        }
+        while (history.canRedo()) {
+            history.redo(game.getBoard(), game);
+            assertAt(states, game, history.position());
+        }
+        assertEquals(last, history.position());
+    }
+
+    @Test
+    void seekLandsOnTheRecordedState() {
+        for (int interval : new int[] {0, 1, 8, 64}) {
+            Game game = game(History.DEFAULT_BUDGET_BYTES, interval);
+            List<Object[]> states = playRecorded(game, 2, 120);
+            History history = game.getHistory();
+            Random rnd = new Random(interval);
+            for (int k = 0; k < 60; k++) {
+                int target = history.firstMove() + rnd.nextInt(history.lastMove() - history.firstMove() + 1);
+                history.seek(game.getBoard(), game, target);
+                assertAt(states, game, target);
+            }
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> history.seek(game.getBoard(), game, history.lastMove() + 1));
+        }
+    }
+
+    @Test
+    void newMoveDropsTheRedoTail() {
+        Game game = game(History.DEFAULT_BUDGET_BYTES, 8);
+        playRecorded(game, 3, 40);
+        History history = game.getHistory();
+        history.seek(game.getBoard(), game, 20);
+        playRecorded(game, 4, 25);
+        assertEquals(history.position(), history.lastMove());
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    void trimmingStaysWithinBudgetAndKeepsSeekExact() {
+        long budget = 24 * 1024;
+        Game game = game(budget, 8);
+        List<Object[]> states = playRecorded(game, 5, 300);
+        History history = game.getHistory();
+        assertTrue(history.firstMove() > 0, "budget never reached");
+        assertTrue(history.retainedBytes() <= budget);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> history.seek(game.getBoard(), game, history.firstMove() - 1));
+        for (int move = history.lastMove(); move >= history.firstMove(); move -= 3) {
+            history.seek(game.getBoard(), game, move);
+            assertAt(states, game, move);
+        }
+        history.seek(game.getBoard(), game, history.firstMove());
+        assertAt(states, game, history.firstMove());
+        assertFalse(history.canUndo());
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        Game game = game(History.DEFAULT_BUDGET_BYTES, 8);
+        playRecorded(game, 6, 30);
+        History history = game.getHistory();
+        history.clear();
+        assertEquals(0, history.position());
+        assertEquals(0, history.lastMove());
+        assertEquals(0, history.retainedBytes());
+        assertFalse(history.canUndo());
+    }
+
+    @Test
+    void tiledCheckpointsPayOnlyForTheTilesTheyChanged() {
+        // 16 tiles; each flag below touches one of them
+        Board board = new Board(256, 256, 8000, 5);
+        board.useTiles();
+        long budget = 1 << 20;
+        Game game = new Game(Difficulty.HARD, "tiles", false, board, new History(budget, 1), 0,
+                d -> new ClassicScoring());
+        History history = game.getHistory();
+        List<Object[]> states = new ArrayList<>();
+        states.add(new Object[] {cells(board), game.getScore()});
+        for (int k = 0; k < 60; k++) {
+            history.execute(board, game, new FlagCommand(k, (k * 37) % 256));
+            states.add(new Object[] {cells(board), game.getScore()});
+        }
+        // Counted in full, 60 checkpoints of the whole board would be several times the budget
+        assertTrue(60 * board.stateBytes() > 3 * budget);
+        assertEquals(0, history.firstMove(), "trimmed at " + history.retainedBytes() + " bytes");
+        assertTrue(history.retainedBytes() < 60 * board.stateBytes() / 10);
+        for (int move : new int[] {0, 59, 17, 60, 1, 33}) {
+            history.seek(board, game, move);
+            assertAt(states, game, move);
+        }
+
+        // Dropping the redo tail releases what its checkpoints were charged
+        history.seek(board, game, 30);
+        long before = history.retainedBytes();
+        history.execute(board, game, new FlagCommand(200, 200));
+        assertTrue(history.retainedBytes() < before);
+        history.clear();
+        assertEquals(0, history.retainedBytes());
+    }
+
+    @Test
+    void trimmingTiledCheckpointsStaysWithinBudget() {
+        Board board = new Board(256, 256, 8000, 6);
+        board.useTiles();
+        long budget = 512 * 1024;
+        Game game = new Game(Difficulty.HARD, "tiles", false, board, new History(budget, 1), 0,
+                d -> new ClassicScoring());
+        History history = game.getHistory();
+        List<Object[]> states = new ArrayList<>();
+        states.add(new Object[] {cells(board), game.getScore()});
+        for (int k = 0; k < 400; k++) {
+            history.execute(board, game, new FlagCommand(k % 256, (k * 37) % 256));
+            states.add(new Object[] {cells(board), game.getScore()});
+            assertTrue(history.retainedBytes() > 0 && history.retainedBytes() <= budget);
+        }
+        assertTrue(history.firstMove() > 0, "budget never reached");
+        for (int move = history.lastMove(); move >= history.firstMove(); move -= 7) {
+            history.seek(board, game, move);
+            assertAt(states, game, move);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static minesweeper.Boards.assertSameGame;
+import static minesweeper.Boards.cells;
+import static minesweeper.Boards.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayRebuildsTheExactGame() throws Exception {
+        Game game = new Game(Difficulty.HARD, "carol");
+        Path file = dir.resolve("game.msj");
+        try (Journal journal = Journal.create(file, game)) {
+            game.getHistory().setJournal(journal);
+            Board board = game.getBoard();
+            History history = game.getHistory();
+            play(game, 7, 40);
+            history.undo(board, game);
+            history.undo(board, game);
+            history.redo(board, game);
+            history.seek(board, game, history.firstMove() + 3);
+            play(game, 8, 20);
+        }
+        assertSameGame(game, Journal.replay(file));
+    }
+
+    @Test
+    void replayIgnoresTornTail() throws Exception {
+        Game game = new Game(Difficulty.NORMAL, "dave");
+        Path file = dir.resolve("torn.msj");
+        try (Journal journal = Journal.create(file, game)) {
+            game.getHistory().setJournal(journal);
+            play(game, 3, 25);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(ch.size() - Journal.RECORD_BYTES / 2);
+        }
+        // Everything but the last record survives; that record may have been a no-op move
+        int lastMove = Journal.replay(file).getHistory().lastMove();
+        assertTrue(lastMove == game.getHistory().lastMove() || lastMove == game.getHistory().lastMove() - 1);
+    }
+
+    @Test
+    void failedJournalIsDetachedAndTheMoveStillRecorded() throws IOException {
+        Game game = new Game(Difficulty.NORMAL, "frank");
+        Board board = game.getBoard();
+        History history = game.getHistory();
+        List<RuntimeException> failures = new ArrayList<>();
+        Journal journal = Journal.create(dir.resolve("failed.msj"), game);
+        history.setJournal(journal, failures::add);
+        play(game, 4, 5);
+        int before = history.lastMove();
+        journal.close();
+
+        play(game, 5, 20);
+        assertEquals(1, failures.size());
+        assertTrue(history.lastMove() > before);
+        assertEquals(0, game.getLastDeltaScore());
+
+        // The timeline still matches the board
+        byte[] cells = cells(board);
+        int score = game.getScore();
+        while (history.canUndo()) history.undo(board, game);
+        while (history.canRedo()) history.redo(board, game);
+        assertArrayEquals(cells, cells(board));
+        assertEquals(score, game.getScore());
+        assertEquals(1, failures.size());
+    }
+
+    @Test
+    void refusesGameWithMoves() throws IOException {
+        Game game = new Game(Difficulty.EASY, "erin");
+        game.getHistory().execute(game.getBoard(), game, new RevealCommand(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Journal.create(dir.resolve("late.msj"), game));
+    }
+}
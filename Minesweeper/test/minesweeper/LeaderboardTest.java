@@ -0,0 +1,47 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void ranksAndSurvivesReopen() throws IOException {
+        Path file = dir.resolve("board.msl");
+        try (Leaderboard board = Leaderboard.open(file)) {
+            board.record("alice", Difficulty.EASY, 50, 9000, 20);
+            board.record("bob", Difficulty.EASY, 80, 12000, 25);
+            board.record("carol", Difficulty.EASY, 80, 10000, 22);
+            board.record("alice", Difficulty.HARD, 10, 5000, 3);
+        }
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertFalse(board.isReadOnly());
+            assertEquals(3, board.size(Difficulty.EASY));
+            assertEquals("carol", board.at(Difficulty.EASY, 1).player);
+            assertEquals(2, board.rank(Difficulty.EASY, "bob"));
+            assertEquals(3, board.rank(Difficulty.EASY, "alice"));
+            assertEquals(1, board.rank(Difficulty.HARD, "alice"));
+        }
+    }
+
+    @Test
+    void secondOpenIsReadOnly() throws IOException {
+        Path file = dir.resolve("shared.msl");
+        try (Leaderboard writer = Leaderboard.open(file); Leaderboard reader = Leaderboard.open(file)) {
+            assertFalse(writer.isReadOnly());
+            assertTrue(reader.isReadOnly());
+            writer.record("alice", Difficulty.EASY, 50, 9000, 20);
+            assertThrows(IOException.class, () -> reader.record("bob", Difficulty.EASY, 60, 9000, 20));
+        }
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertEquals(1, board.size(Difficulty.EASY));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoGuessGeneratorTest {
+    /** Clears an opened board with certain moves only; false if it would need a guess */
+    static boolean solvesWithoutGuessing(Board board) {
+        Solver solver = new Solver(board);
+        solver.rebuild();
+        board.addListener(solver);
+        while (board.status() == GameStatus.RUNNING) {
+            int[] safe = solver.safeCells();
+            if (safe.length == 0) return false;
+            for (int i : safe) assertEquals(0, board.stateAt(i) & Cell.MINE);
+            board.revealAndFlag(safe, new int[0]);
+        }
+        return board.status() == GameStatus.WON;
+    }
+
+    @Test
+    void generatedBoardsNeedNoGuess() {
+        for (Difficulty d : Difficulty.values()) {
+            Board board = NoGuessGenerator.generate(d);
+            assertEquals(d.rows(), board.rows());
+            assertEquals(d.mines(), board.mines());
+            assertEquals(0, Boards.cells(board)[0] & Cell.REVEALED);
+            NoGuessGenerator.open(board);
+            assertTrue(solvesWithoutGuessing(board), d.name());
+        }
+    }
+
+    @Test
+    void candidatesAreReproducible() {
+        Difficulty d = Difficulty.HARD;
+        for (long seed = 0; seed < 30; seed++) {
+            boolean solvable = NoGuessGenerator.isSolvable(d.rows(), d.cols(), d.mines(), seed);
+            Board board = NoGuessGenerator.candidate(d.rows(), d.cols(), d.mines(), seed);
+            NoGuessGenerator.open(board);
+            assertEquals(solvable, solvesWithoutGuessing(board), "seed " + seed);
+        }
+    }
+
+    @Test
+    void poolFillsUpWithSolvableBoards() throws InterruptedException {
+        BoardPool pool = new BoardPool(2, 1);
+        try {
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (pool.available(Difficulty.EASY) < 2 && System.nanoTime() < deadline) Thread.sleep(10);
+            assertEquals(2, pool.available(Difficulty.EASY));
+            Board board = pool.poll(Difficulty.EASY);
+            assertEquals(1, pool.available(Difficulty.EASY));
+            NoGuessGenerator.open(board);
+            assertTrue(solvesWithoutGuessing(board));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void noGuessGamesStartOpened() {
+        Game game = new Game(Difficulty.NORMAL, "nog", true);
+        assertTrue(game.isNoGuess());
+        Board board = game.getBoard();
+        assertTrue(board.cell(board.rows() / 2, board.cols() / 2).isRevealed());
+        assertTrue(solvesWithoutGuessing(board));
+    }
+}
@@ -0,0 +1,92 @@
+package minesweeper;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static minesweeper.Boards.cells;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelFloodTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void parallelFillMatchesSerialFill() {
+        for (long seed = 1; seed <= 8; seed++) {
+            Board serial = new Board(300, 400, 1500, seed);
+            Board parallel = new Board(300, 400, 1500, seed);
+            serial.setScoring(new ClassicScoring());
+            parallel.setScoring(new ClassicScoring());
+            parallel.setParallelReveal(pool, 64);
+
+            // Start on an empty cell so the fill spreads
+            int start = 150 * 400 + 200;
+            while ((serial.stateAt(start) & (Cell.MINE | Cell.ADJ_MASK)) != 0) start++;
+            DeltaBatch expected = serial.reveal(start / 400, start % 400);
+            DeltaBatch actual = parallel.reveal(start / 400, start % 400);
+            assertTrue(expected.revealedCount() > 64, "fill too small to go parallel");
+            assertArrayEquals(expected.revealedRuns(), actual.revealedRuns());
+            assertArrayEquals(cells(serial), cells(parallel));
+            assertEquals(serial.status(), parallel.status());
+            assertEquals(serial.lastMovePoints(), parallel.lastMovePoints());
+        }
+    }
+
+    @Test
+    void parallelFillOnTilesLeavesSnapshotsAlone() {
+        Board serial = new Board(300, 400, 1500, 3);
+        Board parallel = new Board(300, 400, 1500, 3);
+        parallel.setParallelReveal(pool, 64);
+        parallel.useTiles();
+        BoardSnapshot before = parallel.freeze();
+
+        int start = 150 * 400 + 200;
+        while ((serial.stateAt(start) & (Cell.MINE | Cell.ADJ_MASK)) != 0) start++;
+        DeltaBatch expected = serial.reveal(start / 400, start % 400);
+        DeltaBatch actual = parallel.reveal(start / 400, start % 400);
+        assertTrue(expected.revealedCount() > 64, "fill too small to go parallel");
+        assertArrayEquals(expected.revealedRuns(), actual.revealedRuns());
+        assertArrayEquals(cells(serial), cells(parallel));
+        assertEquals(0, cells(before.toBoard())[start] & Cell.REVEALED);
+    }
+
+    @Test
+    void parallelFillStopsAtFlags() {
+        Board serial = new Board(200, 200, 300, 9);
+        Board parallel = new Board(200, 200, 300, 9);
+        parallel.setParallelReveal(pool, 16);
+        for (int c = 0; c < 200; c++) {
+            serial.toggleFlag(120, c);
+            parallel.toggleFlag(120, c);
+        }
+        serial.reveal(20, 20);
+        parallel.reveal(20, 20);
+        assertArrayEquals(cells(serial), cells(parallel));
+
+        // Wins are detected the same way once every safe cell is open
+        for (int i = 0; i < 200 * 200; i++) {
+            if ((serial.stateAt(i) & Cell.MINE) != 0) continue;
+            if ((serial.stateAt(i) & Cell.FLAGGED) != 0) {
+                serial.toggleFlag(i / 200, i % 200);
+                parallel.toggleFlag(i / 200, i % 200);
+            }
+            serial.reveal(i / 200, i % 200);
+            parallel.reveal(i / 200, i % 200);
+        }
+        assertEquals(GameStatus.WON, serial.status());
+        assertEquals(GameStatus.WON, parallel.status());
+        assertArrayEquals(cells(serial), cells(parallel));
+    }
+}
@@ -0,0 +1,81 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static minesweeper.Boards.assertSameGame;
+import static minesweeper.Boards.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveFileTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripKeepsBoardScoreAndTimeline() throws IOException {
+        Game game = new Game(Difficulty.HARD, "alice");
+        play(game, 1, 60);
+        for (int i = 0; i < 5; i++) game.getHistory().undo(game.getBoard(), game);
+
+        Path file = dir.resolve("game.msw");
+        SaveFile.save(game, file);
+        Game loaded = SaveFile.load(file);
+        assertSameGame(game, loaded);
+
+        // The loaded timeline redoes and undoes exactly like the original
+        while (game.getHistory().canRedo()) {
+            game.getHistory().redo(game.getBoard(), game);
+            loaded.getHistory().redo(loaded.getBoard(), loaded);
+            assertSameGame(game, loaded);
+        }
+        game.getHistory().seek(game.getBoard(), game, game.getHistory().firstMove());
+        loaded.getHistory().seek(loaded.getBoard(), loaded, loaded.getHistory().firstMove());
+        assertSameGame(game, loaded);
+    }
+
+    @Test
+    void roundTripOfFinishedGame() throws IOException {
+        Game game = new Game(Difficulty.EASY, "bob");
+        Board board = game.getBoard();
+        game.getHistory().execute(board, game, new RevealCommand(4, 4));
+        for (int i = 0; i < board.rows() * board.cols() && board.status() == GameStatus.RUNNING; i++) {
+            if ((board.stateAt(i) & Cell.MINE) != 0) {
+                game.getHistory().execute(board, game, new RevealCommand(i / board.cols(), i % board.cols()));
+            }
+        }
+        assertEquals(GameStatus.LOST, board.status());
+
+        Path file = dir.resolve("lost.msw");
+        SaveFile.save(game, file);
+        assertSameGame(game, SaveFile.load(file));
+    }
+
+    @Test
+    void captureIsUnaffectedByLaterMoves() throws IOException {
+        Game game = new Game(Difficulty.HARD, "carol");
+        play(game, 2, 40);
+        game.getBoard().useTiles();
+        Path now = dir.resolve("now.msw");
+        SaveFile.save(game, now);
+        SaveFile.Image image = SaveFile.capture(game);
+
+        // Undo, then overwrite the redo tail and keep going past the captured end
+        for (int i = 0; i < 10; i++) game.getHistory().undo(game.getBoard(), game);
+        play(game, 3, 40);
+
+        Path later = dir.resolve("later.msw");
+        SaveFile.write(image, later);
+        assertSameGame(SaveFile.load(now), SaveFile.load(later));
+    }
+
+    @Test
+    void rejectsCorruptFile() throws IOException {
+        Path file = dir.resolve("bad.msw");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> SaveFile.load(file));
+    }
+}
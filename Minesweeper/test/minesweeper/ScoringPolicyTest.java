@@ -0,0 +1,135 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static minesweeper.Boards.assertSameGame;
+import static minesweeper.Boards.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringPolicyTest {
+    @TempDir
+    Path dir;
+
+    private static Game game(long seed, int interval, Function<Difficulty, ScoringPolicy> scoring) {
+        Difficulty d = Difficulty.EASY;
+        return new Game(d, "scoring", false, new Board(d.rows(), d.cols(), d.mines(), seed),
+                new History(History.DEFAULT_BUDGET_BYTES, interval), 0, scoring);
+    }
+
+    /** Reveals the first hidden safe cell; false once there is none */
+    private static boolean revealNextSafe(Game game) {
+        Board board = game.getBoard();
+        for (int i = 0; i < board.rows() * board.cols(); i++) {
+            if ((board.stateAt(i) & (Cell.MINE | Cell.REVEALED)) == 0) {
+                game.getHistory().execute(board, game, new RevealCommand(i / board.cols(), i % board.cols()));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int clicks(Game game) {
+        return ((EfficiencyScoring) game.getBoard().getScoring()).clicks();
+    }
+
+    @Test
+    void classicScoresCellsFlagsAndTheWin() {
+        Game game = game(1, 0, d -> new ClassicScoring());
+        Board board = game.getBoard();
+        int mine = 0;
+        while ((board.stateAt(mine) & Cell.MINE) == 0) mine++;
+        game.getHistory().execute(board, game, new FlagCommand(mine / board.cols(), mine % board.cols()));
+        assertEquals(ClassicScoring.CORRECT_FLAG, game.getScore());
+        while (revealNextSafe(game)) { }
+        assertEquals(GameStatus.WON, board.status());
+        int safe = board.rows() * board.cols() - board.mines();
+        assertEquals(ClassicScoring.CORRECT_FLAG + safe * ClassicScoring.SAFE_REVEAL + ClassicScoring.WIN_BONUS,
+                game.getScore());
+    }
+
+    @Test
+    void undoneClicksDoNotCountAgainstTheWin() {
+        for (long seed = 0; seed < 10; seed++) {
+            Game straight = game(seed, 0, d -> new EfficiencyScoring());
+            while (revealNextSafe(straight)) { }
+
+            Game retried = game(seed, 0, d -> new EfficiencyScoring());
+            Board board = retried.getBoard();
+            History history = retried.getHistory();
+            for (int k = 0; k < 3; k++) revealNextSafe(retried);
+            int clicks = clicks(retried);
+            history.undo(board, retried);
+            history.undo(board, retried);
+            assertEquals(clicks - 2, clicks(retried));
+            history.redo(board, retried);
+            assertEquals(clicks - 1, clicks(retried));
+            // A new move drops the redo tail; the game then plays out as before
+            while (revealNextSafe(retried)) { }
+
+            assertEquals(GameStatus.WON, board.status());
+            assertEquals(clicks(straight), clicks(retried), "seed " + seed);
+            assertEquals(straight.getScore(), retried.getScore(), "seed " + seed);
+        }
+    }
+
+    @Test
+    void seekingThroughCheckpointsRestoresTheClickCount() {
+        Game game = game(4, 4, d -> new EfficiencyScoring());
+        List<Integer> clicksAt = new ArrayList<>();
+        clicksAt.add(0);
+        for (int k = 0; k < 30 && game.getBoard().status() == GameStatus.RUNNING; k++) {
+            revealNextSafe(game);
+            clicksAt.add(clicks(game));
+        }
+        History history = game.getHistory();
+        for (int move : new int[] {1, clicksAt.size() - 1, 5, 0, 9, 2}) {
+            history.seek(game.getBoard(), game, move);
+            assertEquals(clicksAt.get(move), clicks(game), "move " + move);
+        }
+    }
+
+    @Test
+    void saveFilesKeepThePolicyAndItsState() throws IOException {
+        for (int id = 0; id < 3; id++) {
+            Game game = new Game(Difficulty.NORMAL, "saved", false, ScoringPolicy.forId(id));
+            play(game, id, 30);
+            Path file = dir.resolve("game" + id + ".msv");
+            SaveFile.save(game, file);
+            Game loaded = SaveFile.load(file);
+            assertSameGame(game, loaded);
+            ScoringPolicy policy = loaded.getBoard().getScoring();
+            assertEquals(game.getBoard().getScoring().getClass(), policy.getClass());
+            assertEquals(id, policy.id());
+            assertEquals(game.getBoard().getScoring().state(), policy.state());
+        }
+    }
+
+    @Test
+    void journalsReplayWithThePolicyTheyWereWrittenWith() throws Exception {
+        Game game = new Game(Difficulty.NORMAL, "journaled", false, d -> new EfficiencyScoring());
+        Path file = dir.resolve("game.msj");
+        try (Journal journal = Journal.create(file, game)) {
+            game.getHistory().setJournal(journal);
+            Board board = game.getBoard();
+            play(game, 11, 30);
+            game.getHistory().undo(board, game);
+            play(game, 12, 10);
+        }
+        Game replayed = Journal.replay(file);
+        assertSameGame(game, replayed);
+        assertInstanceOf(EfficiencyScoring.class, replayed.getBoard().getScoring());
+        assertEquals(clicks(game), clicks(replayed));
+    }
+
+    @Test
+    void unknownPolicyIdsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ScoringPolicy.forId(99));
+    }
+}
@@ -0,0 +1,125 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedBoardTest {
+    private static int[] safeCells(SharedBoard board) {
+        return IntStream.range(0, board.rows() * board.cols())
+                .filter(i -> (board.stateAt(i) & Cell.MINE) == 0).toArray();
+    }
+
+    private static void shuffle(int[] a, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        for (int i = a.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = a[i]; a[i] = a[j]; a[j] = t;
+        }
+    }
+
+    @Test
+    void racingRevealsOpenEveryCellExactlyOnce() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (long seed = 0; seed < 10; seed++) {
+                SharedBoard board = new SharedBoard(96, 96, 1200, seed);
+                int n = board.rows() * board.cols();
+                AtomicIntegerArray returned = new AtomicIntegerArray(n);
+                AtomicIntegerArray published = new AtomicIntegerArray(n);
+                board.addListener(new BoardListener() {
+                    @Override
+                    public void boardChanged(DeltaBatch batch, boolean reverted) {
+                        batch.forEachRevealed(published::incrementAndGet);
+                    }
+                });
+
+                int[] safe = safeCells(board);
+                CountDownLatch go = new CountDownLatch(1);
+                Future<?>[] players = new Future<?>[threads];
+                for (int t = 0; t < threads; t++) {
+                    int[] order = safe.clone();
+                    shuffle(order, seed * 31 + t);
+                    players[t] = pool.submit(() -> {
+                        go.await();
+                        for (int i : order) {
+                            board.reveal(i / board.cols(), i % board.cols()).forEachRevealed(returned::incrementAndGet);
+                        }
+                        return null;
+                    });
+                }
+                go.countDown();
+                for (Future<?> f : players) f.get(30, TimeUnit.SECONDS);
+
+                for (int i = 0; i < n; i++) {
+                    boolean mine = (board.stateAt(i) & Cell.MINE) != 0;
+                    assertEquals(mine ? 0 : 1, returned.get(i), "cell " + i);
+                    assertEquals(mine ? 0 : 1, published.get(i), "cell " + i);
+                    assertEquals(!mine, (board.stateAt(i) & Cell.REVEALED) != 0);
+                }
+                assertEquals(0, board.unrevealedSafe());
+                assertEquals(GameStatus.WON, board.status());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void racingFlagTogglesNeverLoseAnUpdate() throws Exception {
+        SharedBoard board = new SharedBoard(16, 16, 40, 5);
+        int threads = 4, toggles = 10_001;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] players = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                players[t] = pool.submit(() -> {
+                    for (int k = 0; k < toggles; k++) board.toggleFlag(0, 0);
+                });
+            }
+            for (Future<?> f : players) f.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        // An even number of toggles in total leaves the cell unflagged
+        assertFalse(board.cell(0, 0).isFlagged());
+        board.toggleFlag(0, 0);
+        assertTrue(board.cell(0, 0).isFlagged());
+        assertTrue(board.reveal(0, 0).isEmpty());
+    }
+
+    @Test
+    void revealingAMineEndsTheGameForEveryone() {
+        SharedBoard board = new SharedBoard(10, 10, 20, 9);
+        int mine = IntStream.range(0, 100).filter(i -> (board.stateAt(i) & Cell.MINE) != 0).findFirst().getAsInt();
+        DeltaBatch batch = board.reveal(mine / 10, mine % 10);
+        assertEquals(GameStatus.LOST, batch.nextStatus);
+        assertEquals(GameStatus.LOST, board.status());
+        int safe = safeCells(board)[0];
+        assertTrue(board.reveal(safe / 10, safe % 10).isEmpty());
+        assertTrue(board.toggleFlag(safe / 10, safe % 10).isEmpty());
+    }
+
+    @Test
+    void sameSeedSameLayout() {
+        SharedBoard a = new SharedBoard(30, 16, 99, 42);
+        SharedBoard b = new SharedBoard(30, 16, 99, 42);
+        Board plain = new Board(30, 16, 99, 42);
+        for (int i = 0; i < 30 * 16; i++) {
+            assertEquals(a.stateAt(i), b.stateAt(i));
+            assertEquals(plain.stateAt(i), a.stateAt(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SharedBoard(0, 5, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SharedBoard(5, 5, 25, 0));
+    }
+}
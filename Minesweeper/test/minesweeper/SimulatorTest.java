@@ -0,0 +1,51 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorTest {
+    @Test
+    void everyGameIsPlayedToTheEnd() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int games = 300;
+            Simulator.Report report = new Simulator(pool).run(Difficulty.EASY, games, SolverStrategy::new);
+            assertEquals(games, report.games);
+            assertTrue(report.moves >= games);
+            assertTrue(report.moves < (long) games * Simulator.MAX_MOVES_PER_GAME);
+            // The solver only guesses when stuck, so most easy boards are won
+            assertTrue(report.winRate() > 0.5, report.toString());
+            assertTrue(report.scorePercentile(0) <= report.scorePercentile(0.5));
+            assertTrue(report.scorePercentile(0.5) <= report.scorePercentile(1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void reusedGamesStartOver() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            // One worker resets the same Game between games; a leftover board would end at once
+            Simulator.Report report = new Simulator(pool).run(Difficulty.NORMAL, 50, RandomStrategy::new);
+            assertEquals(50, report.games);
+            assertTrue(report.moves >= 50);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void playStopsWhenTheStrategyGivesUp() {
+        Game game = new Game(Difficulty.EASY, "sim");
+        assertEquals(0, Simulator.play(game, g -> null));
+        assertEquals(GameStatus.RUNNING, game.getBoard().status());
+
+        assertTrue(Simulator.play(game, new SolverStrategy(3)) > 0);
+        assertNotEquals(GameStatus.RUNNING, game.getBoard().status());
+        assertEquals(game.getHistory().position(), game.getHistory().lastMove());
+    }
+}
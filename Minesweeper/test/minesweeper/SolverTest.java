@@ -0,0 +1,83 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverTest {
+    /** Same deductions as a solver built from scratch on the board as it is now */
+    static void assertMatchesRebuild(Solver solver, Board board) {
+        Solver fresh = new Solver(board);
+        fresh.rebuild();
+        assertArrayEquals(fresh.safeCells(), solver.safeCells());
+        assertArrayEquals(fresh.mineCells(), solver.mineCells());
+        assertEquals(fresh.frontierSize(), solver.frontierSize());
+    }
+
+    @Test
+    void deductionsAreSound() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Game game = new Game(Difficulty.HARD, "solver");
+            Board board = game.getBoard();
+            Solver solver = game.attachSolver();
+            game.getHistory().execute(board, game, new RevealCommand(board.rows() / 2, board.cols() / 2));
+            for (int step = 0; step < 200 && board.status() == GameStatus.RUNNING; step++) {
+                for (int i : solver.safeCells()) assertEquals(0, board.stateAt(i) & Cell.MINE);
+                for (int i : solver.mineCells()) assertNotEquals(0, board.stateAt(i) & Cell.MINE);
+                Solver.Hint hint = solver.hint();
+                if (hint == null) break;
+                Command cmd = hint.mine ? new FlagCommand(hint.row, hint.col) : new RevealCommand(hint.row, hint.col);
+                game.getHistory().execute(board, game, cmd);
+            }
+        }
+    }
+
+    @Test
+    void undoKeepsEveryForcedMove() {
+        for (long seed = 1; seed <= 12; seed++) {
+            Random rnd = new Random(seed);
+            Game game = new Game(Difficulty.HARD, "solver");
+            Board board = game.getBoard();
+            History history = game.getHistory();
+            Solver solver = game.attachSolver();
+            history.execute(board, game, new RevealCommand(board.rows() / 2, board.cols() / 2));
+            for (int step = 0; step < 150 && board.status() == GameStatus.RUNNING; step++) {
+                Solver.Hint hint = solver.hint();
+                if (hint != null && rnd.nextInt(4) != 0) {
+                    history.execute(board, game, new RevealCommand(hint.row, hint.col));
+                    if (hint.mine) history.undo(board, game);
+                } else if (history.canUndo() && rnd.nextBoolean()) {
+                    history.undo(board, game);
+                } else {
+                    int i = rnd.nextInt(board.rows() * board.cols());
+                    if ((board.stateAt(i) & Cell.MINE) == 0) {
+                        history.execute(board, game, new RevealCommand(i / board.cols(), i % board.cols()));
+                    }
+                }
+                assertMatchesRebuild(solver, board);
+            }
+        }
+    }
+
+    @Test
+    void attachingAfterTrimmedHistoryRebuilds() {
+        Game game = new Game(Difficulty.HARD, "solver", false,
+                new Board(Difficulty.HARD.rows(), Difficulty.HARD.cols(), Difficulty.HARD.mines(), 3),
+                new History(1, 0), 0, d -> new ClassicScoring());
+        Board board = game.getBoard();
+        History history = game.getHistory();
+        history.execute(board, game, new RevealCommand(8, 15));
+        for (int i = 0; i < board.rows() * board.cols() && history.position() < 5; i++) {
+            if ((board.stateAt(i) & (Cell.MINE | Cell.REVEALED)) == 0) {
+                history.execute(board, game, new RevealCommand(i / board.cols(), i % board.cols()));
+            }
+        }
+        // A tiny budget keeps only the latest move, so there is nothing left to undo
+        history.undo(board, game);
+        assertFalse(history.canUndo());
+        assertTrue(history.position() > 0);
+        assertMatchesRebuild(game.attachSolver(), board);
+    }
+}